@@ -1,15 +1,22 @@
 package tech.blackbookai.vacationmanagementapi.controller;
 
 import jakarta.validation.Valid;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import tech.blackbookai.vacationmanagementapi.entity.Vacation;
+import tech.blackbookai.vacationmanagementapi.model.VacationApprovalPlanRequest;
+import tech.blackbookai.vacationmanagementapi.model.VacationApprovalPlanResponse;
 import tech.blackbookai.vacationmanagementapi.model.VacationRemainingResponse;
 import tech.blackbookai.vacationmanagementapi.model.VacationRequest;
 import tech.blackbookai.vacationmanagementapi.model.enums.VacationStatus;
+import tech.blackbookai.vacationmanagementapi.service.IdempotencyService;
+import tech.blackbookai.vacationmanagementapi.service.VacationEventPublisher;
 import tech.blackbookai.vacationmanagementapi.service.VacationService;
 
 import java.util.List;
@@ -19,11 +26,24 @@ import java.util.Set;
 @RequestMapping("/vacations")
 public class VacationController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     @Autowired
     private VacationService vacationService;
 
+    @Autowired
+    private VacationEventPublisher vacationEventPublisher;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @PostMapping("/requests")
-    private ResponseEntity<Vacation> submitVacationRequest(@RequestBody @Valid VacationRequest request) {
+    private ResponseEntity<Vacation> submitVacationRequest(@RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                           @RequestBody @Valid VacationRequest request) {
+        if (StringUtils.isNotBlank(idempotencyKey)) {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(idempotencyService.createOnce(idempotencyKey, request, () -> vacationService.createForUser(request)));
+        }
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(vacationService.createForUser(request));
     }
@@ -55,6 +75,11 @@ public class VacationController {
         return ResponseEntity.ok(vacationService.getOverlappingRequests());
     }
 
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    private SseEmitter streamVacationEvents() {
+        return vacationEventPublisher.subscribe();
+    }
+
     @PutMapping("/{id}/approve")
     private ResponseEntity<Void> approveVacationRequest(@PathVariable Long id) {
         vacationService.updateRequestStatus(id, VacationStatus.APPROVED);
@@ -68,4 +93,9 @@ public class VacationController {
         return ResponseEntity.status(HttpStatus.ACCEPTED)
                 .build();
     }
+
+    @PostMapping("/approvals/plan")
+    private ResponseEntity<VacationApprovalPlanResponse> planVacationApprovals(@RequestBody @Valid VacationApprovalPlanRequest request) {
+        return ResponseEntity.ok(vacationService.planApprovals(request));
+    }
 }
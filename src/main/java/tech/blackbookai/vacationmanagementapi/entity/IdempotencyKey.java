@@ -0,0 +1,37 @@
+package tech.blackbookai.vacationmanagementapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "tbl_idempotency_key")
+public class IdempotencyKey {
+
+    @Id
+    @Column(updatable = false)
+    private String idempotencyKey;
+
+    @Column(nullable = false)
+    private String fingerprint;
+
+    @Column(columnDefinition = "text")
+    private String responseBody;
+
+    @Column(nullable = false)
+    private LocalDateTime createdOn;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresOn;
+
+    // Set while the request is in progress. Another reservation may take the key over once it has passed
+    @Column
+    private LocalDateTime lockedUntil;
+}
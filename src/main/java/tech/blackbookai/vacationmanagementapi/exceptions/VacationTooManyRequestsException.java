@@ -0,0 +1,12 @@
+package tech.blackbookai.vacationmanagementapi.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class VacationTooManyRequestsException extends RuntimeException {
+
+    public VacationTooManyRequestsException(String message, Exception e) {
+        super(message, e);
+    }
+}
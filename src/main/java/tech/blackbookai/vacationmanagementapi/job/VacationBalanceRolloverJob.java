@@ -0,0 +1,119 @@
+package tech.blackbookai.vacationmanagementapi.job;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tech.blackbookai.vacationmanagementapi.model.AuthorVacationCount;
+import tech.blackbookai.vacationmanagementapi.model.enums.VacationStatus;
+import tech.blackbookai.vacationmanagementapi.repository.VacationRepository;
+import tech.blackbookai.vacationmanagementapi.service.VacationBalanceCache;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class VacationBalanceRolloverJob {
+
+    @Value("${app.rollover.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.rollover.chunk-pause-ms:200}")
+    private long chunkPause;
+
+    @Value("${app.rollover.cache-ttl-ms:7200000}")
+    private long cacheTtl;
+
+    @Autowired
+    private VacationRepository vacationRepository;
+
+    @Autowired
+    private VacationBalanceCache vacationBalanceCache;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Checkpoint checkpoint;
+
+    @Scheduled(cron = "${app.rollover.cron:0 */15 23 31 12 *}")
+    public void runScheduled() {
+        val today = LocalDate.now();
+        run(today.getMonth() == Month.DECEMBER ? today.getYear() + 1 : today.getYear());
+    }
+
+    /**
+     * Precomputes the approved vacation count of every author for the given year, walking the authors in chunks ordered by ID.
+     * Progress is checkpointed after each chunk, so a run that fails part way resumes from the last completed chunk.
+     * A completed run for the same year is not repeated. The precomputed counts are kept in this node's cache only,
+     * for {@code app.rollover.cache-ttl-ms}, so the run should start shortly before the new year.
+     *
+     * @param year The year to precompute the vacation balances for
+     */
+    public void run(int year) {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Vacation balance rollover for {} is already running", year);
+            return;
+        }
+
+        try {
+            if (checkpoint == null || checkpoint.year() != year) {
+                checkpoint = new Checkpoint(year, 0L, 0L, false);
+            }
+            if (checkpoint.completed()) {
+                log.trace("Vacation balance rollover for {} already completed", year);
+                return;
+            }
+
+            log.info("Starting vacation balance rollover for {} after author {}", year, checkpoint.lastAuthor());
+            val startOfYear = LocalDateTime.of(year, 1, 1, 0, 0);
+            while (true) {
+                val authors = vacationRepository.findAuthorsAfter(checkpoint.lastAuthor(), PageRequest.of(0, chunkSize));
+                if (authors.isEmpty()) {
+                    break;
+                }
+
+                val firstAuthor = authors.getFirst();
+                val lastAuthor = authors.getLast();
+                val readGenerations = authors.stream().collect(Collectors.toMap(Function.identity(), vacationBalanceCache::currentGeneration));
+                val approvedCounts = vacationRepository
+                        .countByAuthorRangeAndStatusSince(firstAuthor, lastAuthor, VacationStatus.APPROVED.name(), startOfYear)
+                        .stream()
+                        .collect(Collectors.toMap(AuthorVacationCount::getAuthor, AuthorVacationCount::getTotal));
+                for (val author : authors) {
+                    vacationBalanceCache.put(year, author, approvedCounts.getOrDefault(author, 0L).intValue(), readGenerations.get(author), cacheTtl);
+                }
+
+                checkpoint = new Checkpoint(year, lastAuthor, checkpoint.processedAuthors() + authors.size(), false);
+                log.info("Vacation balance rollover for {} processed {} authors, up to author {}", year, checkpoint.processedAuthors(), lastAuthor);
+
+                if (authors.size() < chunkSize) {
+                    break;
+                }
+                Thread.sleep(chunkPause);
+            }
+
+            checkpoint = new Checkpoint(year, checkpoint.lastAuthor(), checkpoint.processedAuthors(), true);
+            log.info("Completed vacation balance rollover for {}. {} authors precomputed", year, checkpoint.processedAuthors());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Vacation balance rollover for {} was interrupted after author {}", year, checkpoint.lastAuthor());
+        } catch (RuntimeException e) {
+            log.error("Vacation balance rollover for {} failed after author {}. It will resume on the next run", year, checkpoint.lastAuthor(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public Checkpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    public record Checkpoint(int year, long lastAuthor, long processedAuthors, boolean completed) {
+    }
+}
@@ -0,0 +1,6 @@
+package tech.blackbookai.vacationmanagementapi.model;
+
+public interface AuthorVacationCount {
+    Long getAuthor();
+    long getTotal();
+}
@@ -0,0 +1,15 @@
+package tech.blackbookai.vacationmanagementapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdempotentResponse {
+    private String fingerprint;
+    private String responseBody;
+}
@@ -0,0 +1,28 @@
+package tech.blackbookai.vacationmanagementapi.model;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+public class VacationApprovalPlanRequest {
+    @NotNull
+    @PositiveOrZero
+    private Integer minimumStaffing;
+    // Optional. Defaults to the number of distinct authors in tbl_vacation, so employees who never requested a vacation are not counted
+    @Positive
+    private Integer headcount;
+    @NotNull
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime windowStartDate;
+    @NotNull
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime windowEndDate;
+    private boolean apply;
+}
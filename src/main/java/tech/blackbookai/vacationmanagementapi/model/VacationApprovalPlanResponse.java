@@ -0,0 +1,26 @@
+package tech.blackbookai.vacationmanagementapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import tech.blackbookai.vacationmanagementapi.entity.Vacation;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class VacationApprovalPlanResponse {
+    private int headcount;
+    private int minimumStaffing;
+    private int pendingRequestsConsidered;
+    private List<Vacation> approvableRequests;
+    private List<Long> deferredRequestIds;
+    // Pending requests that start before or end after the window. They are never approved by a plan for this window
+    private List<Long> outsideWindowRequestIds;
+    // Planned requests that were no longer pending when the plan was applied. They are not part of the approvable requests
+    private List<Long> conflictingRequestIds;
+    private boolean applied;
+}
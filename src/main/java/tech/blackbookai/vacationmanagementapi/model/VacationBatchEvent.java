@@ -0,0 +1,22 @@
+package tech.blackbookai.vacationmanagementapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import tech.blackbookai.vacationmanagementapi.model.enums.VacationEventType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class VacationBatchEvent {
+    private VacationEventType type;
+    private List<Long> ids;
+    private String status;
+    private Long resolvedBy;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,24 @@
+package tech.blackbookai.vacationmanagementapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import tech.blackbookai.vacationmanagementapi.model.enums.VacationEventType;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class VacationEvent {
+    private VacationEventType type;
+    private Long id;
+    private Long author;
+    private String status;
+    private Long resolvedBy;
+    private LocalDateTime vacationStartDate;
+    private LocalDateTime vacationEndDate;
+    private LocalDateTime occurredAt;
+}
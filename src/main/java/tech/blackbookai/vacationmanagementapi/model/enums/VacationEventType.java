@@ -0,0 +1,7 @@
+package tech.blackbookai.vacationmanagementapi.model.enums;
+
+public enum VacationEventType {
+    CREATED,
+    STATUS_CHANGED,
+    BATCH_STATUS_CHANGED
+}
@@ -0,0 +1,52 @@
+package tech.blackbookai.vacationmanagementapi.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import tech.blackbookai.vacationmanagementapi.entity.IdempotencyKey;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO tbl_idempotency_key (idempotency_key, fingerprint, created_on, locked_until, expires_on) " +
+            "VALUES (:idempotencyKey, :fingerprint, :createdOn, :lockedUntil, :expiresOn) ON CONFLICT (idempotency_key) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("idempotencyKey") String idempotencyKey,
+                       @Param("fingerprint") String fingerprint,
+                       @Param("createdOn") LocalDateTime createdOn,
+                       @Param("lockedUntil") LocalDateTime lockedUntil,
+                       @Param("expiresOn") LocalDateTime expiresOn);
+
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.fingerprint = :fingerprint, k.createdOn = :now, k.lockedUntil = :lockedUntil, k.expiresOn = :expiresOn " +
+            "WHERE k.idempotencyKey = :idempotencyKey AND k.responseBody IS NULL AND k.lockedUntil < :now")
+    int takeOverExpiredLease(@Param("idempotencyKey") String idempotencyKey,
+                             @Param("fingerprint") String fingerprint,
+                             @Param("now") LocalDateTime now,
+                             @Param("lockedUntil") LocalDateTime lockedUntil,
+                             @Param("expiresOn") LocalDateTime expiresOn);
+
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.responseBody = :responseBody, k.lockedUntil = NULL, k.expiresOn = :expiresOn " +
+            "WHERE k.idempotencyKey = :idempotencyKey AND k.responseBody IS NULL")
+    int updateResponseBody(@Param("idempotencyKey") String idempotencyKey,
+                           @Param("responseBody") String responseBody,
+                           @Param("expiresOn") LocalDateTime expiresOn);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.idempotencyKey = :idempotencyKey AND k.responseBody IS NULL")
+    int deleteInProgress(@Param("idempotencyKey") String idempotencyKey);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.idempotencyKey = :idempotencyKey AND k.expiresOn < :now")
+    int deleteExpired(@Param("idempotencyKey") String idempotencyKey, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresOn < :now")
+    int deleteAllExpired(@Param("now") LocalDateTime now);
+}
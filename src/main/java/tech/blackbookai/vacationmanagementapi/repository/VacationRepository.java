@@ -1,8 +1,15 @@
 package tech.blackbookai.vacationmanagementapi.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import tech.blackbookai.vacationmanagementapi.entity.Vacation;
+import tech.blackbookai.vacationmanagementapi.model.AuthorVacationCount;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -13,4 +20,40 @@ public interface VacationRepository extends JpaRepository<Vacation, Long> {
     List<Vacation> findByAuthorAndStatusIn(Long id, List<String> status);
     List<Vacation> findByStatusIn(List<String> status);
     int countByAuthorAndStatusAndStartDateIsGreaterThanEqual(Long id, String status, LocalDateTime startDate);
+
+    @Query("SELECT DISTINCT v.author FROM Vacation v WHERE v.author > :afterAuthor ORDER BY v.author")
+    List<Long> findAuthorsAfter(@Param("afterAuthor") Long afterAuthor, Pageable pageable);
+
+    @Query("SELECT v.author AS author, COUNT(v) AS total FROM Vacation v " +
+            "WHERE v.author BETWEEN :fromAuthor AND :toAuthor AND v.status = :status AND v.startDate >= :startDate " +
+            "GROUP BY v.author")
+    List<AuthorVacationCount> countByAuthorRangeAndStatusSince(@Param("fromAuthor") Long fromAuthor,
+                                                               @Param("toAuthor") Long toAuthor,
+                                                               @Param("status") String status,
+                                                               @Param("startDate") LocalDateTime startDate);
+
+    // Read-only, so changes made to the returned entities are never flushed back
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT v FROM Vacation v WHERE v.status = :status AND v.startDate <= :windowEndDate AND v.endDate >= :windowStartDate")
+    List<Vacation> findByStatusOverlappingWindow(@Param("status") String status,
+                                                 @Param("windowStartDate") LocalDateTime windowStartDate,
+                                                 @Param("windowEndDate") LocalDateTime windowEndDate);
+
+    @Query("SELECT v.author AS author, COUNT(v) AS total FROM Vacation v " +
+            "WHERE v.status = :status AND v.startDate >= :startDate " +
+            "GROUP BY v.author")
+    List<AuthorVacationCount> countByStatusSinceGroupByAuthor(@Param("status") String status,
+                                                              @Param("startDate") LocalDateTime startDate);
+
+    @Query("SELECT COUNT(DISTINCT v.author) FROM Vacation v")
+    long countDistinctAuthors();
+
+    // Not @Modifying, as the updated IDs are read back as a result set. Only the rows that still had the expected status are returned
+    @Query(value = "UPDATE tbl_vacation SET status = :newStatus, resolved_by = :resolvedBy " +
+            "WHERE id IN (:ids) AND status = :expectedStatus RETURNING CAST(id AS BIGINT)",
+            nativeQuery = true)
+    List<Long> updateStatusByIdsAndStatusReturningIds(@Param("ids") List<Long> ids,
+                                                      @Param("expectedStatus") String expectedStatus,
+                                                      @Param("newStatus") String newStatus,
+                                                      @Param("resolvedBy") Long resolvedBy);
 }
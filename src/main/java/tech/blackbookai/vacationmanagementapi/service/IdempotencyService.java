@@ -0,0 +1,100 @@
+package tech.blackbookai.vacationmanagementapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import tech.blackbookai.vacationmanagementapi.entity.Vacation;
+import tech.blackbookai.vacationmanagementapi.exceptions.VacationAlreadyRequestedException;
+import tech.blackbookai.vacationmanagementapi.exceptions.VacationInvalidRequestException;
+import tech.blackbookai.vacationmanagementapi.exceptions.VacationTooManyRequestsException;
+import tech.blackbookai.vacationmanagementapi.model.VacationRequest;
+
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Creates a vacation request at most once per idempotency key. Retries with the same key and request
+     * return the stored response without creating the vacation request again.
+     *
+     * @param key The idempotency key sent by the client
+     * @param request The vacation request for a user
+     * @param createAction Creates the vacation request if the key has not been used yet
+     * @return The created or previously created vacation request
+     * @throws VacationInvalidRequestException If the key is too long or was already used for a different request
+     * @throws VacationAlreadyRequestedException If a request with the same key is still being processed
+     * @throws VacationTooManyRequestsException If the in-memory store is full of requests still being processed
+     */
+    public Vacation createOnce(String key, VacationRequest request, Supplier<Vacation> createAction) {
+        if (StringUtils.length(key) > MAX_KEY_LENGTH) {
+            throw new VacationInvalidRequestException("Idempotency key cannot be longer than " + MAX_KEY_LENGTH + " characters", null);
+        }
+
+        val fingerprint = fingerprint(request);
+        if (!idempotencyStore.reserve(key, fingerprint)) {
+            return replay(key, fingerprint);
+        }
+
+        final Vacation vacation;
+        try {
+            vacation = createAction.get();
+        } catch (RuntimeException e) {
+            idempotencyStore.release(key);
+            throw e;
+        }
+
+        // The vacation request is created at this point, so failing to store the response must not fail the call
+        try {
+            idempotencyStore.complete(key, objectMapper.writeValueAsString(vacation));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("Unable to store response for idempotency key {}", key, e);
+            release(key);
+        }
+        return vacation;
+    }
+
+    private void release(String key) {
+        try {
+            idempotencyStore.release(key);
+        } catch (RuntimeException e) {
+            log.error("Unable to release idempotency key {}. It can be reserved again once its lease expires", key, e);
+        }
+    }
+
+    private Vacation replay(String key, String fingerprint) {
+        val storedResponse = idempotencyStore.find(key)
+                .orElseThrow(() -> new VacationAlreadyRequestedException("Vacation request with this idempotency key is being processed", null));
+        if (!StringUtils.equals(fingerprint, storedResponse.getFingerprint())) {
+            log.error("Idempotency key {} was already used for a different vacation request", key);
+            throw new VacationInvalidRequestException("Idempotency key was already used for a different vacation request", null);
+        }
+        if (storedResponse.getResponseBody() == null) {
+            throw new VacationAlreadyRequestedException("Vacation request with this idempotency key is being processed", null);
+        }
+
+        log.trace("Replaying stored response for idempotency key {}", key);
+        try {
+            return objectMapper.readValue(storedResponse.getResponseBody(), Vacation.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to read stored response for idempotency key " + key, e);
+        }
+    }
+
+    String fingerprint(VacationRequest request) {
+        return StringUtils.joinWith("|", request.getAuthor(), request.getVacationStartDate(), request.getVacationEndDate());
+    }
+}
@@ -0,0 +1,12 @@
+package tech.blackbookai.vacationmanagementapi.service;
+
+import tech.blackbookai.vacationmanagementapi.model.IdempotentResponse;
+
+import java.util.Optional;
+
+public interface IdempotencyStore {
+    boolean reserve(String key, String fingerprint);
+    Optional<IdempotentResponse> find(String key);
+    void complete(String key, String responseBody);
+    void release(String key);
+}
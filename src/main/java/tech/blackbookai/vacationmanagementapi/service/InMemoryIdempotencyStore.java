@@ -0,0 +1,85 @@
+package tech.blackbookai.vacationmanagementapi.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import tech.blackbookai.vacationmanagementapi.exceptions.VacationTooManyRequestsException;
+import tech.blackbookai.vacationmanagementapi.model.IdempotentResponse;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps idempotency keys in a bounded, insertion-ordered map. Keys expire a fixed time after they are reserved,
+ * and the oldest completed keys are evicted once the store is full. Keys still in progress are never evicted;
+ * new keys are refused while the store is full of them.
+ */
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final int maxEntries;
+    private final long ttl;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    public InMemoryIdempotencyStore(@Value("${app.idempotency.max-entries:10000}") int maxEntries,
+                                    @Value("${app.idempotency.ttl-ms:86400000}") long ttl) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public synchronized boolean reserve(String key, String fingerprint) {
+        removeExpired();
+        if (entries.containsKey(key)) {
+            return false;
+        }
+        if (entries.size() >= maxEntries && !removeEldestCompleted()) {
+            throw new VacationTooManyRequestsException("Too many vacation requests are being processed, please retry later", null);
+        }
+        entries.put(key, new Entry(fingerprint, null, System.currentTimeMillis() + ttl));
+        return true;
+    }
+
+    @Override
+    public synchronized Optional<IdempotentResponse> find(String key) {
+        removeExpired();
+        return Optional.ofNullable(entries.get(key))
+                .map(entry -> new IdempotentResponse(entry.fingerprint(), entry.responseBody()));
+    }
+
+    @Override
+    public synchronized void complete(String key, String responseBody) {
+        entries.computeIfPresent(key, (k, entry) -> new Entry(entry.fingerprint(), responseBody, entry.expiresAt()));
+    }
+
+    @Override
+    public synchronized void release(String key) {
+        entries.computeIfPresent(key, (k, entry) -> entry.responseBody() == null ? null : entry);
+    }
+
+    // Entries expire in insertion order, so only the head of the map needs to be checked
+    private void removeExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiresAt() <= now) {
+            iterator.remove();
+        }
+    }
+
+    private boolean removeEldestCompleted() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().responseBody() != null) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Entry(String fingerprint, String responseBody, long expiresAt) {
+    }
+}
@@ -0,0 +1,81 @@
+package tech.blackbookai.vacationmanagementapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import tech.blackbookai.vacationmanagementapi.model.IdempotentResponse;
+import tech.blackbookai.vacationmanagementapi.repository.IdempotencyKeyRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+/**
+ * Keeps idempotency keys in the database, so retries are recognized regardless of which node receives them.
+ * A key in progress is only locked for a short lease, so a key left behind by a crashed node or a failed completion
+ * can be reserved again once the lease has passed. Completed responses are kept for the full TTL.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "database")
+public class JpaIdempotencyStore implements IdempotencyStore {
+
+    @Value("${app.idempotency.ttl-ms:86400000}")
+    private long ttl;
+
+    @Value("${app.idempotency.lease-ms:30000}")
+    private long lease;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Override
+    @Transactional
+    public boolean reserve(String key, String fingerprint) {
+        val now = LocalDateTime.now();
+        val lockedUntil = now.plus(lease, ChronoUnit.MILLIS);
+        val expiresOn = now.plus(ttl, ChronoUnit.MILLIS);
+        idempotencyKeyRepository.deleteExpired(key, now);
+        if (idempotencyKeyRepository.insertIfAbsent(key, fingerprint, now, lockedUntil, expiresOn) == 1) {
+            return true;
+        }
+        if (idempotencyKeyRepository.takeOverExpiredLease(key, fingerprint, now, lockedUntil, expiresOn) == 1) {
+            log.warn("Idempotency key {} was left in progress past its lease and has been reserved again", key);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<IdempotentResponse> find(String key) {
+        val now = LocalDateTime.now();
+        return idempotencyKeyRepository.findById(key)
+                .filter(idempotencyKey -> idempotencyKey.getExpiresOn().isAfter(now))
+                .map(idempotencyKey -> new IdempotentResponse(idempotencyKey.getFingerprint(), idempotencyKey.getResponseBody()));
+    }
+
+    @Override
+    @Transactional
+    public void complete(String key, String responseBody) {
+        idempotencyKeyRepository.updateResponseBody(key, responseBody, LocalDateTime.now().plus(ttl, ChronoUnit.MILLIS));
+    }
+
+    @Override
+    @Transactional
+    public void release(String key) {
+        idempotencyKeyRepository.deleteInProgress(key);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval-ms:600000}")
+    public void removeExpired() {
+        val removed = idempotencyKeyRepository.deleteAllExpired(LocalDateTime.now());
+        log.trace("Removed {} expired idempotency keys", removed);
+    }
+}
@@ -0,0 +1,115 @@
+package tech.blackbookai.vacationmanagementapi.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical reads into a single computation whose result is shared by every caller.
+ * Results may optionally be kept for a short time after the computation completes.
+ */
+@Slf4j
+@Component
+public class RequestCoalescer {
+
+    static final String METRIC_NAME = "vacation.requests.coalesced";
+
+    private final long resultTtlNanos;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, CachedResult> results = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public RequestCoalescer(@Value("${app.coalescing.result-ttl-ms:0}") long resultTtl, MeterRegistry meterRegistry) {
+        this.resultTtlNanos = TimeUnit.MILLISECONDS.toNanos(resultTtl);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns the result of the supplier, sharing it with every concurrent call made with the same method and variant.
+     *
+     * @param method The name of the coalesced operation, also used to tag the metrics
+     * @param variant The arguments that distinguish calls of the same operation
+     * @param supplier The computation to run if no identical call is in flight
+     * @return The shared result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String method, String variant, Supplier<T> supplier) {
+        val key = method + ":" + variant;
+        val cachedResult = results.get(key);
+        if (cachedResult != null && cachedResult.expiresAt() - System.nanoTime() > 0) {
+            record(method, "cached");
+            return (T) cachedResult.value();
+        }
+
+        val future = new CompletableFuture<Object>();
+        val existingFuture = inFlight.putIfAbsent(key, future);
+        if (existingFuture != null) {
+            record(method, "collapsed");
+            return (T) await(existingFuture);
+        }
+
+        record(method, "executed");
+        val startGeneration = generation.get();
+        try {
+            val value = supplier.get();
+            if (resultTtlNanos > 0) {
+                results.put(key, new CachedResult(value, System.nanoTime() + resultTtlNanos));
+                // Results computed before a write may not be cached past it
+                if (generation.get() != startGeneration) {
+                    results.remove(key);
+                }
+            }
+            future.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Errors must release the callers waiting on this computation too
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Discards cached results and detaches in-flight computations, so subsequent calls observe the latest writes.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        inFlight.clear();
+        results.clear();
+    }
+
+    private Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void record(String method, String outcome) {
+        log.trace("Coalesced call to {}: {}", method, outcome);
+        meterRegistry.counter(METRIC_NAME, "method", method, "outcome", outcome).increment();
+    }
+
+    private record CachedResult(Object value, long expiresAt) {
+    }
+}
@@ -0,0 +1,71 @@
+package tech.blackbookai.vacationmanagementapi.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Year;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the number of approved vacations per author and year, so the remaining vacation days
+ * can be served without counting the author's requests on every call.
+ * The cache is local to each node: entries expire after a short time, so approvals made on other nodes
+ * are picked up once the entry expires. Counts read before an eviction of the same author on this node are never stored.
+ */
+@Component
+public class VacationBalanceCache {
+
+    private final long defaultTtl;
+    private final Map<Integer, Map<Long, Entry>> approvedCountsByYear = new ConcurrentHashMap<>();
+    // One counter per evicted author, so evicting an author does not discard counts being stored for other authors
+    private final Map<Long, Long> generationsByAuthor = new ConcurrentHashMap<>();
+
+    public VacationBalanceCache(@Value("${app.balance-cache.ttl-ms:60000}") long defaultTtl) {
+        this.defaultTtl = defaultTtl;
+    }
+
+    /**
+     * Returns the current generation of an author. Callers read it before counting, and pass it to {@link #put}.
+     */
+    public long currentGeneration(Long author) {
+        return generationsByAuthor.getOrDefault(author, 0L);
+    }
+
+    public Integer get(int year, Long author) {
+        Map<Long, Entry> approvedCounts = approvedCountsByYear.get(year);
+        Entry entry = approvedCounts == null ? null : approvedCounts.get(author);
+        if (entry == null || entry.expiresAt() - System.currentTimeMillis() <= 0) {
+            return null;
+        }
+        return entry.approvedCount();
+    }
+
+    public void put(int year, Long author, int approvedCount, long readGeneration) {
+        put(year, author, approvedCount, readGeneration, defaultTtl);
+    }
+
+    /**
+     * Stores an approved count, unless the author was evicted since the count was read.
+     *
+     * @param readGeneration The generation returned by {@link #currentGeneration(Long)} before the count was read
+     * @param ttl How long the entry is served, in milliseconds
+     */
+    public void put(int year, Long author, int approvedCount, long readGeneration, long ttl) {
+        approvedCountsByYear.keySet().removeIf(cachedYear -> cachedYear < Year.now().getValue());
+        Map<Long, Entry> approvedCounts = approvedCountsByYear.computeIfAbsent(year, key -> new ConcurrentHashMap<>());
+        approvedCounts.put(author, new Entry(approvedCount, System.currentTimeMillis() + ttl));
+        // A count read before an eviction may already be stale
+        if (currentGeneration(author) != readGeneration) {
+            approvedCounts.remove(author);
+        }
+    }
+
+    public void evict(Long author) {
+        generationsByAuthor.merge(author, 1L, Long::sum);
+        approvedCountsByYear.values().forEach(approvedCounts -> approvedCounts.remove(author));
+    }
+
+    private record Entry(int approvedCount, long expiresAt) {
+    }
+}
@@ -0,0 +1,238 @@
+package tech.blackbookai.vacationmanagementapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tech.blackbookai.vacationmanagementapi.entity.Vacation;
+import tech.blackbookai.vacationmanagementapi.model.VacationBatchEvent;
+import tech.blackbookai.vacationmanagementapi.model.VacationEvent;
+import tech.blackbookai.vacationmanagementapi.model.enums.VacationEventType;
+import tech.blackbookai.vacationmanagementapi.model.enums.VacationStatus;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class VacationEventPublisher {
+
+    @Value("${app.events.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${app.events.emitter-timeout-ms:1800000}")
+    private long emitterTimeout;
+
+    @Value("${app.events.send-timeout-ms:10000}")
+    private long sendTimeout;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService dispatcher;
+
+    /**
+     * Drains run on a fixed pool of platform threads. Virtual threads would not help, as the emitter writes inside a
+     * synchronized method, which pins the carrier thread on JDK 21. A write blocked on a full socket holds its thread
+     * until the container's write timeout fails it, so up to dispatcher-threads - 1 subscribers can stall at the same
+     * time before delivery to the others is delayed. Delayed subscribers are then dropped once their buffer overflows.
+     *
+     * @param dispatcherThreads The number of threads delivering events to subscribers
+     */
+    public VacationEventPublisher(@Value("${app.events.dispatcher-threads:16}") int dispatcherThreads) {
+        this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads, Thread.ofPlatform().name("vacation-events-", 0).daemon(true).factory());
+    }
+
+    /**
+     * Registers a new subscriber to the vacation event stream. Each subscriber gets its own bounded buffer;
+     * subscribers that fall behind by more than the buffer size are disconnected.
+     *
+     * @return The emitter to stream events to
+     */
+    public SseEmitter subscribe() {
+        val subscriber = new Subscriber(createEmitter(), new ArrayBlockingQueue<>(bufferSize));
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> drop(subscriber));
+        subscriber.emitter.onError(e -> drop(subscriber));
+        subscribers.add(subscriber);
+
+        log.trace("New vacation event subscriber registered. Total subscribers: {}", subscribers.size());
+        return subscriber.emitter;
+    }
+
+    /**
+     * Pushes a vacation event to all subscribers. The event is serialized once and handed to each subscriber's buffer;
+     * writes to and disconnects of subscribers happen on dispatcher threads, never on the caller's thread.
+     *
+     * @param type The type of event
+     * @param vacation The vacation request the event refers to
+     */
+    public void publish(VacationEventType type, Vacation vacation) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        val event = new VacationEvent(type, vacation.getId(), vacation.getAuthor(), vacation.getStatus(), vacation.getResolvedBy(),
+                vacation.getStartDate(), vacation.getEndDate(), LocalDateTime.now());
+        broadcast(type, event, "request " + vacation.getId());
+    }
+
+    /**
+     * Pushes a single event for a batch of vacation requests that changed to the same status, so a bulk update takes
+     * one slot in each subscriber's buffer instead of one per request.
+     *
+     * @param status The status the vacation requests changed to
+     * @param resolvedBy The ID of the user who resolved the vacation requests
+     * @param ids The IDs of the vacation requests
+     */
+    public void publishBatch(VacationStatus status, Long resolvedBy, List<Long> ids) {
+        if (subscribers.isEmpty() || ids.isEmpty()) {
+            return;
+        }
+
+        val event = new VacationBatchEvent(VacationEventType.BATCH_STATUS_CHANGED, ids, status.name(), resolvedBy, LocalDateTime.now());
+        broadcast(VacationEventType.BATCH_STATUS_CHANGED, event, ids.size() + " requests");
+    }
+
+    /**
+     * Sends a heartbeat to all subscribers and disconnects subscribers whose current write has been stuck for longer than the send timeout.
+     */
+    @Scheduled(fixedRateString = "${app.events.heartbeat-interval-ms:15000}")
+    public void sendHeartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        val payload = SseEmitter.event().comment("heartbeat").build();
+        val now = System.nanoTime();
+        subscribers.forEach(subscriber -> {
+            val sendStartedAt = subscriber.sendStartedAt;
+            if (sendStartedAt != 0 && now - sendStartedAt > TimeUnit.MILLISECONDS.toNanos(sendTimeout)) {
+                log.warn("Dropping stalled vacation event subscriber. Write has been blocked for more than {} ms", sendTimeout);
+                drop(subscriber);
+                return;
+            }
+            enqueue(subscriber, payload);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(this::drop);
+        dispatcher.shutdown();
+    }
+
+    int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(emitterTimeout);
+    }
+
+    private void broadcast(VacationEventType type, Object event, Object subject) {
+        final String data;
+        try {
+            data = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.error("Unable to serialize vacation event {} for {}", type, subject, e);
+            return;
+        }
+
+        val payload = SseEmitter.event()
+                .id(String.valueOf(sequence.incrementAndGet()))
+                .name(type.name())
+                .data(data, MediaType.APPLICATION_JSON)
+                .build();
+        subscribers.forEach(subscriber -> enqueue(subscriber, payload));
+    }
+
+    private void enqueue(Subscriber subscriber, Set<DataWithMediaType> payload) {
+        if (!subscriber.buffer.offer(payload)) {
+            log.warn("Dropping slow vacation event subscriber. Buffer of {} events is full", bufferSize);
+            drop(subscriber);
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Set<DataWithMediaType> payload;
+            while (!subscriber.dead.get() && (payload = subscriber.buffer.poll()) != null) {
+                subscriber.sendStartedAt = System.nanoTime();
+                subscriber.emitter.send(payload);
+                subscriber.sendStartedAt = 0;
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.trace("Unable to deliver vacation event, removing subscriber", e);
+            subscribers.remove(subscriber);
+            subscriber.dead.set(true);
+            // The container completes the request itself after a failed write
+            subscriber.completed.set(true);
+        } finally {
+            subscriber.sendStartedAt = 0;
+            subscriber.draining.set(false);
+        }
+
+        if (subscriber.dead.get()) {
+            if (subscriber.completed.compareAndSet(false, true)) {
+                subscriber.emitter.complete();
+            }
+            return;
+        }
+        // An event may have been enqueued after the last poll but before the flag was cleared
+        if (!subscriber.buffer.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    // Only marks the subscriber as dead; the emitter is completed by the dispatcher, as completing it may block behind a pending write
+    private void drop(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.dead.set(true);
+            subscriber.buffer.clear();
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean dead = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile long sendStartedAt;
+
+        private Subscriber(SseEmitter emitter, BlockingQueue<Set<DataWithMediaType>> buffer) {
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+    }
+}
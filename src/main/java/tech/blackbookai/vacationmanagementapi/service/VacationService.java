@@ -1,6 +1,8 @@
 package tech.blackbookai.vacationmanagementapi.service;
 
 import tech.blackbookai.vacationmanagementapi.entity.Vacation;
+import tech.blackbookai.vacationmanagementapi.model.VacationApprovalPlanRequest;
+import tech.blackbookai.vacationmanagementapi.model.VacationApprovalPlanResponse;
 import tech.blackbookai.vacationmanagementapi.model.VacationRequest;
 import tech.blackbookai.vacationmanagementapi.model.enums.VacationStatus;
 
@@ -14,4 +16,5 @@ public interface VacationService {
     List<Vacation> getAllVacationRequests(List<VacationStatus> statusFilters);
     Set<Vacation> getOverlappingRequests();
     void updateRequestStatus(Long id, VacationStatus status);
+    VacationApprovalPlanResponse planApprovals(VacationApprovalPlanRequest request);
 }
@@ -6,31 +6,59 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.CollectionUtils;
 import tech.blackbookai.vacationmanagementapi.entity.Vacation;
 import tech.blackbookai.vacationmanagementapi.exceptions.VacationInvalidRequestException;
 import tech.blackbookai.vacationmanagementapi.exceptions.VacationRequestNotFoundException;
+import tech.blackbookai.vacationmanagementapi.model.VacationApprovalPlanRequest;
+import tech.blackbookai.vacationmanagementapi.model.VacationApprovalPlanResponse;
 import tech.blackbookai.vacationmanagementapi.model.VacationRequest;
+import tech.blackbookai.vacationmanagementapi.model.enums.VacationEventType;
 import tech.blackbookai.vacationmanagementapi.model.enums.VacationStatus;
 import tech.blackbookai.vacationmanagementapi.repository.VacationRepository;
 import tech.blackbookai.vacationmanagementapi.util.DateUtil;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class VacationServiceImpl implements VacationService {
 
+    // Keeps the ID list of a single status update well below the bind parameter limit of the database
+    private static final int STATUS_UPDATE_CHUNK_SIZE = 1_000;
+    // Bounds the per-day arrays of a plan
+    private static final int MAX_WINDOW_DAYS = 366;
+
     @Value("${app.max-vacation-per-user}")
     private int vacationLimitPerUser;
 
     @Autowired
     private VacationRepository vacationRepository;
 
+    @Autowired
+    private VacationEventPublisher vacationEventPublisher;
+
+    @Autowired
+    private VacationBalanceCache vacationBalanceCache;
+
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+
     /**
      * Creates a vacation request if the user's total approved vacations have not exceeded the maximum allowed vacations per year.
      *
@@ -61,7 +89,10 @@ public class VacationServiceImpl implements VacationService {
         vacation.setStatus(VacationStatus.PENDING.name());
 
         log.trace("Creating new vacation request for user {}. Start date: {}, End date: {}", request.getAuthor(), request.getVacationStartDate(), request.getVacationEndDate());
-        return vacationRepository.save(vacation);
+        val createdVacation = vacationRepository.save(vacation);
+        requestCoalescer.invalidateAll();
+        vacationEventPublisher.publish(VacationEventType.CREATED, createdVacation);
+        return createdVacation;
     }
 
     /**
@@ -89,12 +120,13 @@ public class VacationServiceImpl implements VacationService {
      */
     @Override
     public int getRemainingVacationDaysForUser(Long userId) {
-        val remainingDays = vacationLimitPerUser - countNumberOfVacationDaysForUserSinceStartOfYear(userId);
+        val remainingDays = vacationLimitPerUser - getCachedNumberOfVacationDaysForUserSinceStartOfYear(userId);
         return Math.max(remainingDays, 0);
     }
 
     /**
      * Returns the vacation requests for all users. Results will be filtered by status, if provided.
+     * Concurrent calls with the same status filter share a single query.
      *
      * @param statusFilters Optional. The status to filter
      * @return Vacation requests
@@ -105,9 +137,10 @@ public class VacationServiceImpl implements VacationService {
         if (!CollectionUtils.isEmpty(statusFilters)) {
             val statusStringList = statusFilters.stream().map(VacationStatus::name).toList();
             log.trace("Retrieving all vacation requests filtered by status {}", StringUtils.joinWith(",", statusStringList));
-            return vacationRepository.findByStatusIn(statusStringList);
+            val variant = statusStringList.stream().distinct().sorted().collect(Collectors.joining(","));
+            return requestCoalescer.execute("getAllVacationRequests", variant, () -> vacationRepository.findByStatusIn(statusStringList));
         }
-        return vacationRepository.findAll();
+        return requestCoalescer.execute("getAllVacationRequests", "ALL", vacationRepository::findAll);
     }
 
     /**
@@ -116,22 +149,14 @@ public class VacationServiceImpl implements VacationService {
      *  12-28-23 to 01-05-24 overlaps with 01-02-24 to 01-07-24
      *  01-01-24 to 01-05-24 overlaps with 01-05-24 to 01-07-24
      *  01-01-24 to 01-05-24 does not overlap with 01-07-24 to 01-15-24
+     * Concurrent calls share a single computation.
      *
      * @return Vacation requests
      */
     // TODO: If API Security is implemented, @PreAuthorize(hasRole('MANAGER'))
     @Override
     public Set<Vacation> getOverlappingRequests() {
-        val vacationRequests = vacationRepository.findByStatusIn(List.of(VacationStatus.PENDING.name()));
-
-        Set<Vacation> overlappingRequests = new HashSet<>();
-        for (val request : vacationRequests) {
-            if (!CollectionUtils.isEmpty(findOverlaps(request, vacationRequests))) {
-                overlappingRequests.add(request);
-                overlappingRequests.addAll(findOverlaps(request, vacationRequests));
-            }
-        }
-        return overlappingRequests;
+        return requestCoalescer.execute("getOverlappingRequests", "PENDING", this::findOverlappingPendingRequests);
     }
 
     /**
@@ -152,6 +177,102 @@ public class VacationServiceImpl implements VacationService {
         // ID is hardcoded due to limited time, but ideally, we should query the requesting user via the security context
         vacationRequest.setResolvedBy(1L);
         vacationRepository.save(vacationRequest);
+        vacationBalanceCache.evict(vacationRequest.getAuthor());
+        requestCoalescer.invalidateAll();
+        vacationEventPublisher.publish(VacationEventType.STATUS_CHANGED, vacationRequest);
+    }
+
+    /**
+     * Plans which pending vacation requests in a date window can be approved while keeping at least the minimum staffing
+     * in the office on every day of the window. Approved absences are swept into a per-day count of absent authors, then
+     * pending requests are approved greedily, shortest and oldest first, as long as every day they add for their author
+     * stays within capacity and their author has remaining vacation days. Pending requests reaching outside the window
+     * are reported separately, as days outside the window are not checked.
+     * If requested, the plan is applied in the same transaction, only to requests that are still pending.
+     *
+     * @param request The minimum staffing, date window and optional headcount. The headcount defaults to the number of
+     *                distinct authors in tbl_vacation, so employees who never requested a vacation are not counted
+     * @return The approvable, deferred, outside window and, if applied, conflicting pending requests
+     * @throws VacationInvalidRequestException If window start date is greater than window end date
+     * @throws VacationInvalidRequestException If the window is longer than 366 days
+     */
+    // TODO: If API Security is implemented, @PreAuthorize(hasRole('MANAGER'))
+    @Override
+    @Transactional
+    public VacationApprovalPlanResponse planApprovals(VacationApprovalPlanRequest request) {
+        val windowStart = request.getWindowStartDate().toLocalDate();
+        val windowEnd = request.getWindowEndDate().toLocalDate();
+        if (windowStart.isAfter(windowEnd)) {
+            log.error("Window start date {} cannot be greater than window end date {}", windowStart, windowEnd);
+            throw new VacationInvalidRequestException("Window start date cannot be greater than window end date", null);
+        }
+        if (ChronoUnit.DAYS.between(windowStart, windowEnd) >= MAX_WINDOW_DAYS) {
+            log.error("Window from {} to {} is longer than {} days", windowStart, windowEnd, MAX_WINDOW_DAYS);
+            throw new VacationInvalidRequestException("Window cannot be longer than " + MAX_WINDOW_DAYS + " days", null);
+        }
+
+        int headcount = request.getHeadcount() != null ? request.getHeadcount() : (int) vacationRepository.countDistinctAuthors();
+        int capacity = headcount - request.getMinimumStaffing();
+        int days = (int) ChronoUnit.DAYS.between(windowStart, windowEnd) + 1;
+        val windowStartDate = windowStart.atStartOfDay();
+        val windowEndDate = windowEnd.atTime(LocalTime.MAX);
+
+        val absentDaysByAuthor = findApprovedAbsentDaysByAuthor(windowStart, days, windowStartDate, windowEndDate);
+        val occupancy = new int[days];
+        absentDaysByAuthor.values().forEach(absentDays -> absentDays.stream().forEach(day -> occupancy[day]++));
+
+        List<Vacation> pendingRequests = new ArrayList<>(vacationRepository.findByStatusOverlappingWindow(VacationStatus.PENDING.name(), windowStartDate, windowEndDate));
+        pendingRequests.sort(Comparator.comparingLong((Vacation vacation) -> ChronoUnit.DAYS.between(vacation.getStartDate().toLocalDate(), vacation.getEndDate().toLocalDate()))
+                .thenComparing(Vacation::getRequestDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(Vacation::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        val startOfYear = LocalDateTime.of(LocalDate.now().getYear(), 1, 1, 0, 0);
+        Map<Long, Integer> remainingByAuthor = new HashMap<>();
+        vacationRepository.countByStatusSinceGroupByAuthor(VacationStatus.APPROVED.name(), startOfYear)
+                .forEach(approvedCount -> remainingByAuthor.put(approvedCount.getAuthor(), vacationLimitPerUser - (int) approvedCount.getTotal()));
+
+        List<Vacation> approvableRequests = new ArrayList<>();
+        List<Long> deferredRequestIds = new ArrayList<>();
+        List<Long> outsideWindowRequestIds = new ArrayList<>();
+        for (val pendingRequest : pendingRequests) {
+            if (pendingRequest.getStartDate().toLocalDate().isBefore(windowStart) || pendingRequest.getEndDate().toLocalDate().isAfter(windowEnd)) {
+                outsideWindowRequestIds.add(pendingRequest.getId());
+                continue;
+            }
+
+            val consumesBalance = !pendingRequest.getStartDate().isBefore(startOfYear);
+            int remaining = remainingByAuthor.getOrDefault(pendingRequest.getAuthor(), vacationLimitPerUser);
+            val absentDays = absentDaysByAuthor.computeIfAbsent(pendingRequest.getAuthor(), author -> new BitSet(days));
+            // Days the author is already absent on do not take another seat
+            val addedDays = new BitSet(days);
+            addedDays.set(dayIndex(windowStart, pendingRequest.getStartDate()), dayIndex(windowStart, pendingRequest.getEndDate()) + 1);
+            addedDays.andNot(absentDays);
+            if ((consumesBalance && remaining <= 0) || !hasCapacity(occupancy, addedDays, capacity)) {
+                deferredRequestIds.add(pendingRequest.getId());
+                continue;
+            }
+
+            addedDays.stream().forEach(day -> occupancy[day]++);
+            absentDays.or(addedDays);
+            if (consumesBalance) {
+                remainingByAuthor.put(pendingRequest.getAuthor(), remaining - 1);
+            }
+            approvableRequests.add(pendingRequest);
+        }
+
+        log.trace("Planned {} of {} pending vacation requests between {} and {} for approval", approvableRequests.size(), pendingRequests.size(), windowStart, windowEnd);
+        List<Long> conflictingRequestIds = new ArrayList<>();
+        if (request.isApply() && !approvableRequests.isEmpty()) {
+            val approvedRequests = approveAll(approvableRequests);
+            val approvedIds = approvedRequests.stream().map(Vacation::getId).collect(Collectors.toSet());
+            approvableRequests.stream().map(Vacation::getId).filter(id -> !approvedIds.contains(id)).forEach(conflictingRequestIds::add);
+            if (!conflictingRequestIds.isEmpty()) {
+                log.warn("{} planned vacation requests were no longer pending and have not been approved", conflictingRequestIds.size());
+            }
+            approvableRequests = approvedRequests;
+        }
+        return new VacationApprovalPlanResponse(headcount, request.getMinimumStaffing(), pendingRequests.size(), approvableRequests,
+                deferredRequestIds, outsideWindowRequestIds, conflictingRequestIds, request.isApply());
     }
 
     private int countNumberOfVacationDaysForUserSinceStartOfYear(Long userId) {
@@ -159,6 +280,90 @@ public class VacationServiceImpl implements VacationService {
                 .countByAuthorAndStatusAndStartDateIsGreaterThanEqual(userId, VacationStatus.APPROVED.name(), LocalDateTime.of(LocalDate.now().getYear(), 1, 1, 0, 0));
     }
 
+    // The quota check in createForUser always counts, as the cache may lag behind approvals made on other nodes
+    private int getCachedNumberOfVacationDaysForUserSinceStartOfYear(Long userId) {
+        val year = LocalDate.now().getYear();
+        val cachedCount = vacationBalanceCache.get(year, userId);
+        if (cachedCount != null) {
+            return cachedCount;
+        }
+
+        val readGeneration = vacationBalanceCache.currentGeneration(userId);
+        val count = countNumberOfVacationDaysForUserSinceStartOfYear(userId);
+        vacationBalanceCache.put(year, userId, count, readGeneration);
+        return count;
+    }
+
+    // Each author counts once per day, even with several approved requests covering the same day
+    private Map<Long, BitSet> findApprovedAbsentDaysByAuthor(LocalDate windowStart, int days, LocalDateTime windowStartDate, LocalDateTime windowEndDate) {
+        Map<Long, BitSet> absentDaysByAuthor = new HashMap<>();
+        for (val approvedRequest : vacationRepository.findByStatusOverlappingWindow(VacationStatus.APPROVED.name(), windowStartDate, windowEndDate)) {
+            int firstDay = Math.max(dayIndex(windowStart, approvedRequest.getStartDate()), 0);
+            int lastDay = Math.min(dayIndex(windowStart, approvedRequest.getEndDate()), days - 1);
+            absentDaysByAuthor.computeIfAbsent(approvedRequest.getAuthor(), author -> new BitSet(days)).set(firstDay, lastDay + 1);
+        }
+        return absentDaysByAuthor;
+    }
+
+    private boolean hasCapacity(int[] occupancy, BitSet addedDays, int capacity) {
+        return addedDays.stream().allMatch(day -> occupancy[day] < capacity);
+    }
+
+    private int dayIndex(LocalDate windowStart, LocalDateTime date) {
+        return (int) ChronoUnit.DAYS.between(windowStart, date.toLocalDate());
+    }
+
+    // Only approves requests that are still pending, so requests resolved since they were read are left untouched.
+    // The IDs returned by the conditional update are the only ones reported as approved
+    private List<Vacation> approveAll(List<Vacation> vacationRequests) {
+        val ids = vacationRequests.stream().map(Vacation::getId).toList();
+        Set<Long> approvedIds = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += STATUS_UPDATE_CHUNK_SIZE) {
+            val chunk = ids.subList(from, Math.min(from + STATUS_UPDATE_CHUNK_SIZE, ids.size()));
+            // ID is hardcoded due to limited time, but ideally, we should query the requesting user via the security context
+            approvedIds.addAll(vacationRepository.updateStatusByIdsAndStatusReturningIds(chunk, VacationStatus.PENDING.name(), VacationStatus.APPROVED.name(), 1L));
+        }
+
+        val approvedRequests = vacationRequests.stream().filter(vacationRequest -> approvedIds.contains(vacationRequest.getId())).toList();
+        approvedRequests.forEach(vacationRequest -> {
+            vacationRequest.setStatus(VacationStatus.APPROVED.name());
+            vacationRequest.setResolvedBy(1L);
+        });
+        afterCommit(() -> {
+            approvedRequests.stream().map(Vacation::getAuthor).distinct().forEach(vacationBalanceCache::evict);
+            requestCoalescer.invalidateAll();
+            vacationEventPublisher.publishBatch(VacationStatus.APPROVED, 1L, approvedRequests.stream().map(Vacation::getId).toList());
+        });
+        return approvedRequests;
+    }
+
+    // Readers must not see the new statuses evicted from caches or announced before they are committed
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private Set<Vacation> findOverlappingPendingRequests() {
+        val vacationRequests = vacationRepository.findByStatusIn(List.of(VacationStatus.PENDING.name()));
+
+        Set<Vacation> overlappingRequests = new HashSet<>();
+        for (val request : vacationRequests) {
+            if (!CollectionUtils.isEmpty(findOverlaps(request, vacationRequests))) {
+                overlappingRequests.add(request);
+                overlappingRequests.addAll(findOverlaps(request, vacationRequests));
+            }
+        }
+        return overlappingRequests;
+    }
+
     private List<Vacation> findOverlaps(Vacation request, List<Vacation> requestList) {
         return requestList.stream()
                 .filter(otherRequest -> !request.equals(otherRequest)
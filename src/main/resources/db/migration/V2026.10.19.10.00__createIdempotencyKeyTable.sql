@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS tbl_idempotency_key
+(
+    idempotency_key             VARCHAR(255) NOT NULL PRIMARY KEY,
+    fingerprint                 VARCHAR(255) NOT NULL,
+    response_body               TEXT NULL,
+    created_on                  TIMESTAMPTZ NOT NULL,
+    expires_on                  TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_key_expires_on ON tbl_idempotency_key (expires_on);
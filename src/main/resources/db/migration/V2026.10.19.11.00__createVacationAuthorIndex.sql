@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_vacation_author_status_start_date ON tbl_vacation (author, status, start_date);
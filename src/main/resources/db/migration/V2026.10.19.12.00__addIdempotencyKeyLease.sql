@@ -0,0 +1 @@
+ALTER TABLE tbl_idempotency_key ADD COLUMN IF NOT EXISTS locked_until TIMESTAMPTZ NULL;
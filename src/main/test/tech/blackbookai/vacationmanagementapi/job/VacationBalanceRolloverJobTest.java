@@ -0,0 +1,150 @@
+package tech.blackbookai.vacationmanagementapi.job;
+
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import tech.blackbookai.vacationmanagementapi.model.AuthorVacationCount;
+import tech.blackbookai.vacationmanagementapi.model.enums.VacationStatus;
+import tech.blackbookai.vacationmanagementapi.repository.VacationRepository;
+import tech.blackbookai.vacationmanagementapi.service.VacationBalanceCache;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+public class VacationBalanceRolloverJobTest {
+
+    private static final int YEAR = LocalDate.now().getYear() + 1;
+    private static final LocalDateTime START_OF_YEAR = LocalDateTime.of(YEAR, 1, 1, 0, 0);
+    private static final PageRequest CHUNK = PageRequest.of(0, 2);
+
+    @InjectMocks
+    private VacationBalanceRolloverJob job;
+
+    @Mock
+    private VacationRepository vacationRepository;
+
+    @Spy
+    private VacationBalanceCache vacationBalanceCache = new VacationBalanceCache(60_000);
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(job, "chunkSize", 2);
+        ReflectionTestUtils.setField(job, "chunkPause", 0L);
+        ReflectionTestUtils.setField(job, "cacheTtl", 60_000L);
+    }
+
+    @Test
+    public void givenAuthorsAcrossChunks_whenRun_thenPrecomputeEveryAuthor() {
+        Mockito.when(vacationRepository.findAuthorsAfter(0L, CHUNK)).thenReturn(List.of(1L, 2L));
+        Mockito.when(vacationRepository.findAuthorsAfter(2L, CHUNK)).thenReturn(List.of(3L, 4L));
+        Mockito.when(vacationRepository.findAuthorsAfter(4L, CHUNK)).thenReturn(List.of(5L));
+        Mockito.when(vacationRepository.countByAuthorRangeAndStatusSince(1L, 2L, VacationStatus.APPROVED.name(), START_OF_YEAR))
+                .thenReturn(List.of(sampleAuthorCount(1L, 3)));
+        Mockito.when(vacationRepository.countByAuthorRangeAndStatusSince(3L, 4L, VacationStatus.APPROVED.name(), START_OF_YEAR))
+                .thenReturn(List.of());
+        Mockito.when(vacationRepository.countByAuthorRangeAndStatusSince(5L, 5L, VacationStatus.APPROVED.name(), START_OF_YEAR))
+                .thenReturn(List.of());
+
+        job.run(YEAR);
+
+        assertEquals(3, vacationBalanceCache.get(YEAR, 1L));
+        assertEquals(0, vacationBalanceCache.get(YEAR, 2L));
+        assertEquals(0, vacationBalanceCache.get(YEAR, 5L));
+        assertEquals(new VacationBalanceRolloverJob.Checkpoint(YEAR, 5L, 5L, true), job.getCheckpoint());
+        Mockito.verify(vacationRepository, Mockito.never()).findAuthorsAfter(Mockito.eq(5L), Mockito.any());
+    }
+
+    @Test
+    public void givenShortChunk_whenRun_thenStopWithoutQueryingNextChunk() {
+        Mockito.when(vacationRepository.findAuthorsAfter(0L, CHUNK)).thenReturn(List.of(1L));
+
+        job.run(YEAR);
+
+        Mockito.verify(vacationRepository, Mockito.times(1)).findAuthorsAfter(Mockito.anyLong(), Mockito.any());
+        assertTrue(job.getCheckpoint().completed());
+    }
+
+    @Test
+    public void givenFailedChunk_whenRunAgain_thenResumeFromCheckpoint() {
+        Mockito.when(vacationRepository.findAuthorsAfter(0L, CHUNK)).thenReturn(List.of(1L, 2L));
+        Mockito.when(vacationRepository.findAuthorsAfter(2L, CHUNK)).thenReturn(List.of(3L, 4L));
+        Mockito.when(vacationRepository.findAuthorsAfter(4L, CHUNK)).thenReturn(List.of());
+        Mockito.when(vacationRepository.countByAuthorRangeAndStatusSince(1L, 2L, VacationStatus.APPROVED.name(), START_OF_YEAR))
+                .thenReturn(List.of());
+        Mockito.when(vacationRepository.countByAuthorRangeAndStatusSince(3L, 4L, VacationStatus.APPROVED.name(), START_OF_YEAR))
+                .thenThrow(new IllegalStateException("Connection reset"))
+                .thenReturn(List.of());
+
+        job.run(YEAR);
+
+        assertEquals(new VacationBalanceRolloverJob.Checkpoint(YEAR, 2L, 2L, false), job.getCheckpoint());
+
+        job.run(YEAR);
+
+        assertEquals(new VacationBalanceRolloverJob.Checkpoint(YEAR, 4L, 4L, true), job.getCheckpoint());
+        Mockito.verify(vacationRepository, Mockito.times(1)).findAuthorsAfter(0L, CHUNK);
+    }
+
+    @Test
+    public void givenCompletedRun_whenRunAgain_thenSkip() {
+        Mockito.when(vacationRepository.findAuthorsAfter(0L, CHUNK)).thenReturn(List.of(1L));
+
+        job.run(YEAR);
+        job.run(YEAR);
+
+        Mockito.verify(vacationRepository, Mockito.times(1)).findAuthorsAfter(Mockito.anyLong(), Mockito.any());
+    }
+
+    @Test
+    public void givenRunInProgress_whenRunAgain_thenIgnore() throws Exception {
+        val chunkRequested = new CountDownLatch(1);
+        val releaseChunk = new CountDownLatch(1);
+        Mockito.when(vacationRepository.findAuthorsAfter(0L, CHUNK)).thenAnswer(invocation -> {
+            chunkRequested.countDown();
+            releaseChunk.await(5, TimeUnit.SECONDS);
+            return List.of(1L);
+        });
+
+        val firstRun = new Thread(() -> job.run(YEAR));
+        firstRun.start();
+        assertTrue(chunkRequested.await(5, TimeUnit.SECONDS));
+
+        job.run(YEAR);
+        releaseChunk.countDown();
+        firstRun.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertFalse(firstRun.isAlive());
+        Mockito.verify(vacationRepository, Mockito.times(1)).findAuthorsAfter(Mockito.anyLong(), Mockito.any());
+        assertTrue(job.getCheckpoint().completed());
+    }
+
+    private static AuthorVacationCount sampleAuthorCount(Long author, long total) {
+        return new AuthorVacationCount() {
+            @Override
+            public Long getAuthor() {
+                return author;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
+}
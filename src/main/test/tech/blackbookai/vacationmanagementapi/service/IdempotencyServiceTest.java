@@ -0,0 +1,119 @@
+package tech.blackbookai.vacationmanagementapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import tech.blackbookai.vacationmanagementapi.config.BeanConfig;
+import tech.blackbookai.vacationmanagementapi.entity.Vacation;
+import tech.blackbookai.vacationmanagementapi.exceptions.VacationAlreadyRequestedException;
+import tech.blackbookai.vacationmanagementapi.exceptions.VacationInvalidRequestException;
+import tech.blackbookai.vacationmanagementapi.model.VacationRequest;
+import tech.blackbookai.vacationmanagementapi.model.enums.VacationStatus;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyServiceTest {
+
+    private static final String KEY = "7f1c2a4e-retry";
+    private static long USER_ID = 1L;
+
+    @InjectMocks
+    private IdempotencyService service;
+
+    @Spy
+    private IdempotencyStore idempotencyStore = new InMemoryIdempotencyStore(10, 60_000);
+
+    @Spy
+    private ObjectMapper objectMapper = new BeanConfig().objectMapper();
+
+    private final AtomicInteger createCount = new AtomicInteger();
+
+    @Test
+    public void givenRepeatedKey_whenCreateOnce_thenReplayStoredResponse() {
+        val request = sampleRequest(LocalDateTime.of(2024, 8, 24, 0, 0));
+
+        val created = service.createOnce(KEY, request, this::createVacation);
+        val replayed = service.createOnce(KEY, request, this::createVacation);
+
+        assertEquals(1, createCount.get());
+        assertEquals(42L, replayed.getId());
+        assertEquals(created.getId(), replayed.getId());
+        assertEquals(created.getAuthor(), replayed.getAuthor());
+        assertEquals(created.getStartDate(), replayed.getStartDate());
+        assertEquals(created.getStatus(), replayed.getStatus());
+    }
+
+    @Test
+    public void givenKeyUsedForDifferentRequest_whenCreateOnce_thenThrowError() {
+        service.createOnce(KEY, sampleRequest(LocalDateTime.of(2024, 8, 24, 0, 0)), this::createVacation);
+
+        val otherRequest = sampleRequest(LocalDateTime.of(2024, 9, 1, 0, 0));
+        assertThrows(VacationInvalidRequestException.class, () -> service.createOnce(KEY, otherRequest, this::createVacation));
+        assertEquals(1, createCount.get());
+    }
+
+    @Test
+    public void givenKeyInProgress_whenCreateOnce_thenThrowError() {
+        val request = sampleRequest(LocalDateTime.of(2024, 8, 24, 0, 0));
+        idempotencyStore.reserve(KEY, service.fingerprint(request));
+
+        assertThrows(VacationAlreadyRequestedException.class, () -> service.createOnce(KEY, request, this::createVacation));
+        assertEquals(0, createCount.get());
+    }
+
+    @Test
+    public void givenFailedCreate_whenCreateOnceAgain_thenRetry() {
+        val request = sampleRequest(LocalDateTime.of(2024, 8, 24, 0, 0));
+
+        assertThrows(VacationInvalidRequestException.class, () -> service.createOnce(KEY, request, () -> {
+            throw new VacationInvalidRequestException("limit reached", null);
+        }));
+        service.createOnce(KEY, request, this::createVacation);
+
+        assertEquals(1, createCount.get());
+    }
+
+    @Test
+    public void givenCompleteFails_whenCreateOnce_thenReturnCreatedVacationAndReleaseKey() {
+        val request = sampleRequest(LocalDateTime.of(2024, 8, 24, 0, 0));
+        Mockito.doThrow(new IllegalStateException("Connection reset")).when(idempotencyStore).complete(Mockito.eq(KEY), Mockito.anyString());
+
+        val created = service.createOnce(KEY, request, this::createVacation);
+
+        assertEquals(42L, created.getId());
+        Mockito.verify(idempotencyStore).release(KEY);
+        assertTrue(idempotencyStore.reserve(KEY, service.fingerprint(request)));
+    }
+
+    private Vacation createVacation() {
+        createCount.incrementAndGet();
+        val vacation = new Vacation();
+        ReflectionTestUtils.setField(vacation, "id", 42L);
+        vacation.setAuthor(USER_ID);
+        vacation.setRequestDate(LocalDateTime.now());
+        vacation.setStartDate(LocalDateTime.of(2024, 8, 24, 0, 0));
+        vacation.setEndDate(LocalDateTime.of(2024, 8, 30, 0, 0));
+        vacation.setStatus(VacationStatus.PENDING.name());
+        return vacation;
+    }
+
+    private static VacationRequest sampleRequest(LocalDateTime startDate) {
+        val request = new VacationRequest();
+        request.setAuthor(USER_ID);
+        request.setVacationStartDate(startDate);
+        request.setVacationEndDate(startDate.plusDays(6));
+        return request;
+    }
+}
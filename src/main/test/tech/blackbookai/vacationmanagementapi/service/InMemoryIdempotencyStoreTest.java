@@ -0,0 +1,41 @@
+package tech.blackbookai.vacationmanagementapi.service;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import tech.blackbookai.vacationmanagementapi.exceptions.VacationTooManyRequestsException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InMemoryIdempotencyStoreTest {
+
+    @Test
+    public void givenFullStoreOfInProgressKeys_whenReserve_thenRefuseNewKey() {
+        val store = new InMemoryIdempotencyStore(1, 60_000);
+        store.reserve("first", "fingerprint");
+
+        assertThrows(VacationTooManyRequestsException.class, () -> store.reserve("second", "fingerprint"));
+        assertFalse(store.reserve("first", "fingerprint"));
+    }
+
+    @Test
+    public void givenFullStoreWithCompletedKey_whenReserve_thenEvictCompletedKey() {
+        val store = new InMemoryIdempotencyStore(2, 60_000);
+        store.reserve("completed", "fingerprint");
+        store.reserve("in-progress", "fingerprint");
+        store.complete("completed", "{}");
+
+        assertTrue(store.reserve("new", "fingerprint"));
+        assertTrue(store.find("completed").isEmpty());
+        assertTrue(store.find("in-progress").isPresent());
+    }
+
+    @Test
+    public void givenExpiredKey_whenReserve_thenReserveAgain() {
+        val store = new InMemoryIdempotencyStore(10, 0);
+        store.reserve("expired", "fingerprint");
+
+        assertTrue(store.reserve("expired", "fingerprint"));
+    }
+}
@@ -0,0 +1,79 @@
+package tech.blackbookai.vacationmanagementapi.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import tech.blackbookai.vacationmanagementapi.repository.IdempotencyKeyRepository;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+public class JpaIdempotencyStoreTest {
+
+    private static final String KEY = "7f1c2a4e-retry";
+    private static final String FINGERPRINT = "1|2024-08-24T00:00|2024-08-30T00:00";
+
+    @InjectMocks
+    private JpaIdempotencyStore store;
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(store, "ttl", 86_400_000L);
+        ReflectionTestUtils.setField(store, "lease", 30_000L);
+    }
+
+    @Test
+    public void givenNewKey_whenReserve_thenLockForLeaseOnly() {
+        Mockito.when(idempotencyKeyRepository.insertIfAbsent(Mockito.eq(KEY), Mockito.eq(FINGERPRINT), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(1);
+        LocalDateTime before = LocalDateTime.now();
+
+        assertTrue(store.reserve(KEY, FINGERPRINT));
+
+        Mockito.verify(idempotencyKeyRepository).insertIfAbsent(Mockito.eq(KEY), Mockito.eq(FINGERPRINT), Mockito.any(),
+                Mockito.argThat(lockedUntil -> lockedUntil.isBefore(before.plusMinutes(1))),
+                Mockito.argThat(expiresOn -> expiresOn.isAfter(before.plusHours(23))));
+        Mockito.verify(idempotencyKeyRepository, Mockito.never()).takeOverExpiredLease(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void givenKeyPastItsLease_whenReserve_thenTakeOverKey() {
+        Mockito.when(idempotencyKeyRepository.insertIfAbsent(Mockito.eq(KEY), Mockito.eq(FINGERPRINT), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(0);
+        Mockito.when(idempotencyKeyRepository.takeOverExpiredLease(Mockito.eq(KEY), Mockito.eq(FINGERPRINT), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(1);
+
+        assertTrue(store.reserve(KEY, FINGERPRINT));
+    }
+
+    @Test
+    public void givenKeyWithinItsLease_whenReserve_thenReject() {
+        Mockito.when(idempotencyKeyRepository.insertIfAbsent(Mockito.eq(KEY), Mockito.eq(FINGERPRINT), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(0);
+        Mockito.when(idempotencyKeyRepository.takeOverExpiredLease(Mockito.eq(KEY), Mockito.eq(FINGERPRINT), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(0);
+
+        assertFalse(store.reserve(KEY, FINGERPRINT));
+    }
+
+    @Test
+    public void givenResponse_whenComplete_thenKeepForFullTtl() {
+        LocalDateTime before = LocalDateTime.now();
+
+        store.complete(KEY, "{}");
+
+        Mockito.verify(idempotencyKeyRepository).updateResponseBody(Mockito.eq(KEY), Mockito.eq("{}"),
+                Mockito.argThat(expiresOn -> expiresOn.isAfter(before.plusHours(23))));
+    }
+}
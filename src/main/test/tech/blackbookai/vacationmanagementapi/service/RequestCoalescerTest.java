@@ -0,0 +1,128 @@
+package tech.blackbookai.vacationmanagementapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RequestCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void givenConcurrentIdenticalCalls_whenExecute_thenComputeOnce() throws Exception {
+        val coalescer = new RequestCoalescer(0, meterRegistry);
+        val invocations = new AtomicInteger();
+        val release = new CountDownLatch(1);
+
+        val leader = CompletableFuture.supplyAsync(() -> coalescer.execute("method", "ALL", () -> {
+            invocations.incrementAndGet();
+            await(release);
+            return "result";
+        }));
+        while (invocations.get() == 0) {
+            Thread.onSpinWait();
+        }
+
+        val follower = CompletableFuture.supplyAsync(() -> coalescer.execute("method", "ALL", () -> {
+            invocations.incrementAndGet();
+            return "other";
+        }));
+        while (count("collapsed") == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("result", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    public void givenDifferentVariants_whenExecute_thenComputeEach() {
+        val coalescer = new RequestCoalescer(60_000, meterRegistry);
+
+        assertEquals("pending", coalescer.execute("method", "PENDING", () -> "pending"));
+        assertEquals("approved", coalescer.execute("method", "APPROVED", () -> "approved"));
+        assertEquals(2, count("executed"));
+    }
+
+    @Test
+    public void givenResultTtl_whenExecuteAgain_thenReturnCachedResult() {
+        val coalescer = new RequestCoalescer(60_000, meterRegistry);
+
+        coalescer.execute("method", "ALL", () -> "first");
+
+        assertEquals("first", coalescer.execute("method", "ALL", () -> "second"));
+        assertEquals(1, count("cached"));
+    }
+
+    @Test
+    public void givenInvalidatedResult_whenExecuteAgain_thenRecompute() {
+        val coalescer = new RequestCoalescer(60_000, meterRegistry);
+
+        coalescer.execute("method", "ALL", () -> "first");
+        coalescer.invalidateAll();
+
+        assertEquals("second", coalescer.execute("method", "ALL", () -> "second"));
+    }
+
+    @Test
+    public void givenFailingComputation_whenExecute_thenRethrowAndNotCache() {
+        val coalescer = new RequestCoalescer(60_000, meterRegistry);
+
+        assertThrows(IllegalStateException.class, () -> coalescer.execute("method", "ALL", () -> {
+            throw new IllegalStateException("failed");
+        }));
+        assertEquals("recovered", coalescer.execute("method", "ALL", () -> "recovered"));
+    }
+
+    @Test
+    public void givenErrorInComputation_whenFollowerWaiting_thenReleaseFollower() throws Exception {
+        val coalescer = new RequestCoalescer(0, meterRegistry);
+        val started = new CountDownLatch(1);
+        val release = new CountDownLatch(1);
+
+        val leader = CompletableFuture.supplyAsync(() -> coalescer.execute("method", "ALL", () -> {
+            started.countDown();
+            await(release);
+            throw new OutOfMemoryError("Java heap space");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        val follower = CompletableFuture.supplyAsync(() -> coalescer.execute("method", "ALL", () -> "other"));
+        while (count("collapsed") == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        val leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        val followerFailure = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(OutOfMemoryError.class, leaderFailure.getCause());
+        assertInstanceOf(OutOfMemoryError.class, followerFailure.getCause());
+        assertEquals("recovered", coalescer.execute("method", "ALL", () -> "recovered"));
+    }
+
+    private double count(String outcome) {
+        val counter = meterRegistry.find(RequestCoalescer.METRIC_NAME).tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
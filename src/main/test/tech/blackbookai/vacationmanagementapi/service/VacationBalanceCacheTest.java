@@ -0,0 +1,57 @@
+package tech.blackbookai.vacationmanagementapi.service;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class VacationBalanceCacheTest {
+
+    private static final int YEAR = LocalDate.now().getYear();
+    private static long USER_ID = 1L;
+    private static long OTHER_USER_ID = 2L;
+
+    @Test
+    public void givenCountReadBeforeEviction_whenPut_thenDropStaleCount() {
+        val cache = new VacationBalanceCache(60_000);
+        val readGeneration = cache.currentGeneration(USER_ID);
+
+        cache.evict(USER_ID);
+        cache.put(YEAR, USER_ID, 12, readGeneration);
+
+        assertNull(cache.get(YEAR, USER_ID));
+    }
+
+    @Test
+    public void givenCountReadAfterEviction_whenPut_thenStoreCount() {
+        val cache = new VacationBalanceCache(60_000);
+        cache.evict(USER_ID);
+
+        cache.put(YEAR, USER_ID, 12, cache.currentGeneration(USER_ID));
+
+        assertEquals(12, cache.get(YEAR, USER_ID));
+    }
+
+    @Test
+    public void givenOtherAuthorEvicted_whenPut_thenStoreCount() {
+        val cache = new VacationBalanceCache(60_000);
+        val readGeneration = cache.currentGeneration(USER_ID);
+
+        cache.evict(OTHER_USER_ID);
+        cache.put(YEAR, USER_ID, 12, readGeneration);
+
+        assertEquals(12, cache.get(YEAR, USER_ID));
+    }
+
+    @Test
+    public void givenExpiredEntry_whenGet_thenReturnNull() {
+        val cache = new VacationBalanceCache(60_000);
+
+        cache.put(YEAR, USER_ID, 12, cache.currentGeneration(USER_ID), 0);
+
+        assertNull(cache.get(YEAR, USER_ID));
+    }
+}
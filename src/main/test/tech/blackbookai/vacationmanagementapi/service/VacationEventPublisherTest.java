@@ -0,0 +1,193 @@
+package tech.blackbookai.vacationmanagementapi.service;
+
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tech.blackbookai.vacationmanagementapi.config.BeanConfig;
+import tech.blackbookai.vacationmanagementapi.entity.Vacation;
+import tech.blackbookai.vacationmanagementapi.model.enums.VacationEventType;
+import tech.blackbookai.vacationmanagementapi.model.enums.VacationStatus;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VacationEventPublisherTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private TestEmitter emitter;
+    private TestEmitter otherEmitter;
+    private VacationEventPublisher publisher;
+
+    @AfterEach
+    public void tearDown() {
+        if (emitter != null) {
+            emitter.releaseSend.countDown();
+        }
+        if (otherEmitter != null) {
+            otherEmitter.releaseSend.countDown();
+        }
+        if (publisher != null) {
+            publisher.shutdown();
+        }
+    }
+
+    @Test
+    public void givenFullBuffer_whenPublish_thenDropSubscriberWithoutBlocking() throws Exception {
+        emitter = new TestEmitter(true, false);
+        publisher = createPublisher(2);
+        publisher.subscribe();
+
+        publisher.publish(VacationEventType.CREATED, sampleVacation());
+        assertTrue(emitter.sendEntered.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // The first event is stuck in the socket write, two more fill the buffer, the fourth overflows it
+        publisher.publish(VacationEventType.CREATED, sampleVacation());
+        publisher.publish(VacationEventType.CREATED, sampleVacation());
+        publisher.publish(VacationEventType.STATUS_CHANGED, sampleVacation());
+
+        assertEquals(0, publisher.getSubscriberCount());
+        assertEquals(1, emitter.completed.getCount());
+
+        emitter.releaseSend.countDown();
+        assertTrue(emitter.completed.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(1, emitter.sent.size());
+    }
+
+    @Test
+    public void givenStalledSubscriber_whenPublish_thenDeliverToOtherSubscribers() throws Exception {
+        emitter = new TestEmitter(true, false);
+        otherEmitter = new TestEmitter(false, false);
+        publisher = createPublisher(2, 2, emitter, otherEmitter);
+        publisher.subscribe();
+        publisher.subscribe();
+
+        publisher.publish(VacationEventType.CREATED, sampleVacation());
+        assertTrue(emitter.sendEntered.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        publisher.publish(VacationEventType.STATUS_CHANGED, sampleVacation());
+
+        waitUntil(() -> otherEmitter.sent.size() == 2);
+        assertTrue(emitter.sent.isEmpty());
+    }
+
+    @Test
+    public void givenIdleSubscriber_whenSendHeartbeat_thenDeliverHeartbeat() throws Exception {
+        emitter = new TestEmitter(false, false);
+        publisher = createPublisher(2);
+        publisher.subscribe();
+
+        publisher.sendHeartbeat();
+
+        waitUntil(() -> emitter.sent.size() == 1);
+        assertTrue(emitter.sent.getFirst().stream().anyMatch(data -> data.getData().toString().contains("heartbeat")));
+        assertEquals(1, publisher.getSubscriberCount());
+    }
+
+    @Test
+    public void givenBatchLargerThanBuffer_whenPublishBatch_thenDeliverSingleEvent() throws Exception {
+        emitter = new TestEmitter(false, false);
+        publisher = createPublisher(2);
+        publisher.subscribe();
+
+        publisher.publishBatch(VacationStatus.APPROVED, 1L, List.of(1L, 2L, 3L, 4L, 5L));
+
+        waitUntil(() -> emitter.sent.size() == 1);
+        assertTrue(emitter.sent.getFirst().stream().anyMatch(data -> data.getData().toString().contains(VacationEventType.BATCH_STATUS_CHANGED.name())));
+        assertEquals(1, publisher.getSubscriberCount());
+    }
+
+    @Test
+    public void givenFailingDelivery_whenPublish_thenRemoveSubscriber() throws Exception {
+        emitter = new TestEmitter(false, true);
+        publisher = createPublisher(2);
+        publisher.subscribe();
+
+        publisher.publish(VacationEventType.CREATED, sampleVacation());
+
+        waitUntil(() -> publisher.getSubscriberCount() == 0);
+        assertEquals(1, emitter.completed.getCount());
+    }
+
+    private VacationEventPublisher createPublisher(int bufferSize) {
+        return createPublisher(bufferSize, 2, emitter);
+    }
+
+    private VacationEventPublisher createPublisher(int bufferSize, int dispatcherThreads, TestEmitter... emitters) {
+        val pendingEmitters = new ArrayDeque<>(List.of(emitters));
+        val eventPublisher = new VacationEventPublisher(dispatcherThreads) {
+            @Override
+            SseEmitter createEmitter() {
+                return pendingEmitters.poll();
+            }
+        };
+        ReflectionTestUtils.setField(eventPublisher, "bufferSize", bufferSize);
+        ReflectionTestUtils.setField(eventPublisher, "sendTimeout", 10_000L);
+        ReflectionTestUtils.setField(eventPublisher, "objectMapper", new BeanConfig().objectMapper());
+        return eventPublisher;
+    }
+
+    private static Vacation sampleVacation() {
+        Vacation vacation = new Vacation();
+        vacation.setAuthor(1L);
+        vacation.setStatus(VacationStatus.PENDING.name());
+        vacation.setStartDate(LocalDateTime.of(2024, 8, 24, 0, 0));
+        vacation.setEndDate(LocalDateTime.of(2024, 8, 30, 0, 0));
+        return vacation;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+
+    private static class TestEmitter extends SseEmitter {
+        private final boolean blockFirstSend;
+        private final boolean failSend;
+        private final List<Set<DataWithMediaType>> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sendEntered = new CountDownLatch(1);
+        private final CountDownLatch releaseSend = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        private TestEmitter(boolean blockFirstSend, boolean failSend) {
+            this.blockFirstSend = blockFirstSend;
+            this.failSend = failSend;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            if (failSend) {
+                throw new IOException("Broken pipe");
+            }
+            sendEntered.countDown();
+            if (blockFirstSend && sent.isEmpty()) {
+                try {
+                    releaseSend.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(items);
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
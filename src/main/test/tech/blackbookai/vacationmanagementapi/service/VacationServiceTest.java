@@ -1,5 +1,6 @@
 package tech.blackbookai.vacationmanagementapi.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,15 +10,21 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 import tech.blackbookai.vacationmanagementapi.entity.Vacation;
 import tech.blackbookai.vacationmanagementapi.exceptions.VacationInvalidRequestException;
 import tech.blackbookai.vacationmanagementapi.exceptions.VacationRequestNotFoundException;
+import tech.blackbookai.vacationmanagementapi.model.AuthorVacationCount;
+import tech.blackbookai.vacationmanagementapi.model.VacationApprovalPlanRequest;
+import tech.blackbookai.vacationmanagementapi.model.VacationApprovalPlanResponse;
 import tech.blackbookai.vacationmanagementapi.model.VacationRequest;
+import tech.blackbookai.vacationmanagementapi.model.enums.VacationEventType;
 import tech.blackbookai.vacationmanagementapi.model.enums.VacationStatus;
 import tech.blackbookai.vacationmanagementapi.repository.VacationRepository;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -27,7 +34,9 @@ import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
@@ -42,6 +51,15 @@ public class VacationServiceTest {
     @Mock
     private VacationRepository vacationRepository;
 
+    @Mock
+    private VacationEventPublisher vacationEventPublisher;
+
+    @Spy
+    private VacationBalanceCache vacationBalanceCache = new VacationBalanceCache(60_000);
+
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(0, new SimpleMeterRegistry());
+
     @BeforeEach
     public void setup() {
         ReflectionTestUtils.setField(service, "vacationLimitPerUser", 30);
@@ -63,6 +81,7 @@ public class VacationServiceTest {
         Mockito.verify(vacationRepository).save(captor.capture());
 
         assertEquals(VacationStatus.PENDING.name(), captor.getValue().getStatus());
+        Mockito.verify(vacationEventPublisher).publish(Mockito.eq(VacationEventType.CREATED), Mockito.any());
     }
 
     @Test
@@ -145,6 +164,44 @@ public class VacationServiceTest {
         assertEquals(0, service.getRemainingVacationDaysForUser(USER_ID));
     }
 
+    @Test
+    public void givenCachedVacationCount_whenGetRemainingVacationDaysForUser_thenSkipCountQuery() {
+        vacationBalanceCache.put(LocalDate.now().getYear(), USER_ID, 12, vacationBalanceCache.currentGeneration(USER_ID));
+
+        assertEquals(18, service.getRemainingVacationDaysForUser(USER_ID));
+        Mockito.verify(vacationRepository, Mockito.never())
+                .countByAuthorAndStatusAndStartDateIsGreaterThanEqual(Mockito.anyLong(), Mockito.anyString(), Mockito.any());
+    }
+
+    @Test
+    public void givenStaleCachedVacationCount_whenCreateForUser_thenCheckLimitAgainstRepository() {
+        vacationBalanceCache.put(LocalDate.now().getYear(), USER_ID, 0, vacationBalanceCache.currentGeneration(USER_ID));
+        Mockito.when(vacationRepository
+                        .countByAuthorAndStatusAndStartDateIsGreaterThanEqual(USER_ID, VacationStatus.APPROVED.name(), LocalDateTime.of(LocalDate.now().getYear(), 1, 1, 0, 0)))
+                .thenReturn(30);
+
+        val request = new VacationRequest();
+        request.setAuthor(USER_ID);
+        request.setVacationStartDate(LocalDateTime.now().minusDays(1));
+        request.setVacationEndDate(LocalDateTime.now());
+        assertThrows(VacationInvalidRequestException.class, () -> service.createForUser(request));
+    }
+
+    @Test
+    public void givenCachedVacationCount_whenUpdateRequestStatus_thenEvictAuthor() {
+        vacationBalanceCache.put(LocalDate.now().getYear(), USER_ID, 12, vacationBalanceCache.currentGeneration(USER_ID));
+
+        Vacation samplePendingVacation = new Vacation();
+        samplePendingVacation.setAuthor(USER_ID);
+        samplePendingVacation.setStatus(VacationStatus.PENDING.name());
+        Mockito.when(vacationRepository.findById(1L))
+                .thenReturn(Optional.of(samplePendingVacation));
+
+        service.updateRequestStatus(1L, VacationStatus.APPROVED);
+
+        assertNull(vacationBalanceCache.get(LocalDate.now().getYear(), USER_ID));
+    }
+
     @Test
     public void givenNullStatusFilter_whenGetAllVacationRequests_thenReturnAll() {
         Vacation samplePendingVacation = new Vacation();
@@ -249,6 +306,7 @@ public class VacationServiceTest {
         Mockito.verify(vacationRepository).save(captor.capture());
 
         assertEquals(VacationStatus.APPROVED.name(), captor.getValue().getStatus());
+        Mockito.verify(vacationEventPublisher).publish(VacationEventType.STATUS_CHANGED, samplePendingVacation);
     }
 
     @Test
@@ -263,4 +321,187 @@ public class VacationServiceTest {
     public void givenNullStatus_whenUpdateRequestStatus_thenThrowError() {
         assertThrows(VacationInvalidRequestException.class, () -> service.updateRequestStatus(1L, null));
     }
+
+    @Test
+    public void givenMinimumStaffing_whenPlanApprovals_thenDeferRequestsExceedingCapacity() {
+        val year = LocalDate.now().getYear();
+        val approvedVacation = sampleVacation(1L, 10L, VacationStatus.APPROVED, LocalDateTime.of(year, 12, 24, 0, 0), LocalDateTime.of(year, 12, 26, 0, 0));
+        val shortPending = sampleVacation(2L, 11L, VacationStatus.PENDING, LocalDateTime.of(year, 12, 24, 0, 0), LocalDateTime.of(year, 12, 25, 0, 0));
+        val longPending = sampleVacation(3L, 12L, VacationStatus.PENDING, LocalDateTime.of(year, 12, 23, 0, 0), LocalDateTime.of(year, 12, 27, 0, 0));
+        val laterPending = sampleVacation(4L, 12L, VacationStatus.PENDING, LocalDateTime.of(year, 12, 28, 0, 0), LocalDateTime.of(year, 12, 29, 0, 0));
+        stubPlanQueries(List.of(approvedVacation), List.of(longPending, laterPending, shortPending), List.of());
+
+        val response = service.planApprovals(samplePlanRequest(3, 1, false));
+
+        assertEquals(List.of(shortPending, laterPending), response.getApprovableRequests());
+        assertEquals(List.of(3L), response.getDeferredRequestIds());
+        assertEquals(VacationStatus.PENDING.name(), shortPending.getStatus());
+        Mockito.verify(vacationRepository, Mockito.never()).saveAll(Mockito.any());
+    }
+
+    @Test
+    public void givenAuthorWithoutRemainingDays_whenPlanApprovals_thenDeferRequest() {
+        val year = LocalDate.now().getYear();
+        val pending = sampleVacation(2L, 11L, VacationStatus.PENDING, LocalDateTime.of(year, 12, 24, 0, 0), LocalDateTime.of(year, 12, 25, 0, 0));
+        stubPlanQueries(List.of(), List.of(pending), List.of(sampleAuthorCount(11L, 30)));
+
+        val response = service.planApprovals(samplePlanRequest(10, 1, false));
+
+        assertTrue(response.getApprovableRequests().isEmpty());
+        assertEquals(List.of(2L), response.getDeferredRequestIds());
+    }
+
+    @Test
+    public void givenApplyFlag_whenPlanApprovals_thenApproveInOneBatch() {
+        val year = LocalDate.now().getYear();
+        val pending = sampleVacation(2L, 11L, VacationStatus.PENDING, LocalDateTime.of(year, 12, 24, 0, 0), LocalDateTime.of(year, 12, 25, 0, 0));
+        stubPlanQueries(List.of(), List.of(pending), List.of());
+        Mockito.when(vacationRepository.updateStatusByIdsAndStatusReturningIds(List.of(2L), VacationStatus.PENDING.name(), VacationStatus.APPROVED.name(), 1L))
+                .thenReturn(List.of(2L));
+
+        val response = service.planApprovals(samplePlanRequest(10, 1, true));
+
+        assertTrue(response.isApplied());
+        assertEquals(VacationStatus.APPROVED.name(), pending.getStatus());
+        assertTrue(response.getConflictingRequestIds().isEmpty());
+        Mockito.verify(vacationRepository, Mockito.never()).saveAll(Mockito.any());
+        Mockito.verify(vacationEventPublisher).publishBatch(VacationStatus.APPROVED, 1L, List.of(2L));
+        Mockito.verify(vacationEventPublisher, Mockito.never()).publish(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void givenRequestResolvedSincePlanned_whenPlanApprovals_thenReportConflict() {
+        val year = LocalDate.now().getYear();
+        val pending = sampleVacation(2L, 11L, VacationStatus.PENDING, LocalDateTime.of(year, 12, 24, 0, 0), LocalDateTime.of(year, 12, 25, 0, 0));
+        val resolvedPending = sampleVacation(3L, 12L, VacationStatus.PENDING, LocalDateTime.of(year, 12, 24, 0, 0), LocalDateTime.of(year, 12, 25, 0, 0));
+        stubPlanQueries(List.of(), List.of(pending, resolvedPending), List.of());
+        Mockito.when(vacationRepository.updateStatusByIdsAndStatusReturningIds(List.of(2L, 3L), VacationStatus.PENDING.name(), VacationStatus.APPROVED.name(), 1L))
+                .thenReturn(List.of(2L));
+
+        val response = service.planApprovals(samplePlanRequest(10, 1, true));
+
+        assertEquals(List.of(pending), response.getApprovableRequests());
+        assertEquals(List.of(3L), response.getConflictingRequestIds());
+        assertEquals(VacationStatus.PENDING.name(), resolvedPending.getStatus());
+        Mockito.verify(vacationEventPublisher).publishBatch(VacationStatus.APPROVED, 1L, List.of(2L));
+    }
+
+    @Test
+    public void givenOverlappingRequestsOfSameAuthor_whenPlanApprovals_thenCountAuthorOncePerDay() {
+        val year = LocalDate.now().getYear();
+        val approvedVacation = sampleVacation(1L, 10L, VacationStatus.APPROVED, LocalDateTime.of(year, 12, 24, 0, 0), LocalDateTime.of(year, 12, 26, 0, 0));
+        val overlappingApprovedVacation = sampleVacation(2L, 10L, VacationStatus.APPROVED, LocalDateTime.of(year, 12, 25, 0, 0), LocalDateTime.of(year, 12, 27, 0, 0));
+        val shortPending = sampleVacation(3L, 11L, VacationStatus.PENDING, LocalDateTime.of(year, 12, 24, 0, 0), LocalDateTime.of(year, 12, 25, 0, 0));
+        val extendingPending = sampleVacation(4L, 11L, VacationStatus.PENDING, LocalDateTime.of(year, 12, 24, 0, 0), LocalDateTime.of(year, 12, 26, 0, 0));
+        stubPlanQueries(List.of(approvedVacation, overlappingApprovedVacation), List.of(extendingPending, shortPending), List.of());
+
+        val response = service.planApprovals(samplePlanRequest(3, 1, false));
+
+        assertEquals(List.of(shortPending, extendingPending), response.getApprovableRequests());
+        assertTrue(response.getDeferredRequestIds().isEmpty());
+    }
+
+    @Test
+    public void givenPendingRequestReachingOutsideWindow_whenPlanApprovals_thenReportOutsideWindow() {
+        val year = LocalDate.now().getYear();
+        val startsBeforeWindow = sampleVacation(2L, 11L, VacationStatus.PENDING, LocalDateTime.of(year, 11, 28, 0, 0), LocalDateTime.of(year, 12, 2, 0, 0));
+        val endsAfterWindow = sampleVacation(3L, 12L, VacationStatus.PENDING, LocalDateTime.of(year, 12, 30, 0, 0), LocalDateTime.of(year + 1, 1, 2, 0, 0));
+        val insideWindow = sampleVacation(4L, 13L, VacationStatus.PENDING, LocalDateTime.of(year, 12, 10, 0, 0), LocalDateTime.of(year, 12, 12, 0, 0));
+        stubPlanQueries(List.of(), List.of(startsBeforeWindow, endsAfterWindow, insideWindow), List.of());
+
+        val response = service.planApprovals(samplePlanRequest(10, 1, false));
+
+        assertEquals(List.of(insideWindow), response.getApprovableRequests());
+        assertEquals(List.of(3L, 2L), response.getOutsideWindowRequestIds());
+        assertTrue(response.getDeferredRequestIds().isEmpty());
+    }
+
+    @Test
+    public void givenWindowStartAfterEnd_whenPlanApprovals_thenThrowError() {
+        val request = samplePlanRequest(10, 1, false);
+        request.setWindowStartDate(request.getWindowEndDate().plusDays(1));
+
+        assertThrows(VacationInvalidRequestException.class, () -> service.planApprovals(request));
+    }
+
+    @Test
+    public void givenWindowLongerThanOneYear_whenPlanApprovals_thenThrowError() {
+        val request = samplePlanRequest(10, 1, false);
+        request.setWindowEndDate(request.getWindowStartDate().plusDays(366));
+
+        assertThrows(VacationInvalidRequestException.class, () -> service.planApprovals(request));
+        Mockito.verifyNoInteractions(vacationRepository);
+    }
+
+    @Test
+    public void givenCenturyWideWindow_whenPlanApprovals_thenThrowError() {
+        val request = samplePlanRequest(10, 1, false);
+        request.setWindowStartDate(LocalDateTime.of(1, 1, 1, 0, 0));
+        request.setWindowEndDate(LocalDateTime.of(9_999_999, 12, 31, 0, 0));
+
+        assertThrows(VacationInvalidRequestException.class, () -> service.planApprovals(request));
+    }
+
+    @Test
+    public void given50kPendingRequests_whenPlanApprovals_thenCompleteWithinOneSecond() {
+        val year = LocalDate.now().getYear();
+        List<Vacation> pendingRequests = new ArrayList<>();
+        for (long id = 1; id <= 50_000; id++) {
+            val startDate = LocalDateTime.of(year, 12, 1, 0, 0).plusDays(id % 25);
+            pendingRequests.add(sampleVacation(id, id % 5_000, VacationStatus.PENDING, startDate, startDate.plusDays(id % 7)));
+        }
+        stubPlanQueries(List.of(), pendingRequests, List.of());
+
+        // Warm up once, so class loading and JIT compilation are not counted against the budget
+        service.planApprovals(samplePlanRequest(5_000, 4_000, false));
+
+        VacationApprovalPlanResponse response = assertTimeout(Duration.ofSeconds(1), () -> service.planApprovals(samplePlanRequest(5_000, 4_000, false)));
+
+        assertEquals(50_000, response.getApprovableRequests().size() + response.getDeferredRequestIds().size() + response.getOutsideWindowRequestIds().size());
+    }
+
+    private void stubPlanQueries(List<Vacation> approved, List<Vacation> pending, List<AuthorVacationCount> approvedCounts) {
+        Mockito.when(vacationRepository.findByStatusOverlappingWindow(Mockito.eq(VacationStatus.APPROVED.name()), Mockito.any(), Mockito.any()))
+                .thenReturn(approved);
+        Mockito.when(vacationRepository.findByStatusOverlappingWindow(Mockito.eq(VacationStatus.PENDING.name()), Mockito.any(), Mockito.any()))
+                .thenReturn(pending);
+        Mockito.when(vacationRepository.countByStatusSinceGroupByAuthor(Mockito.eq(VacationStatus.APPROVED.name()), Mockito.any()))
+                .thenReturn(approvedCounts);
+    }
+
+    private static VacationApprovalPlanRequest samplePlanRequest(int headcount, int minimumStaffing, boolean apply) {
+        val year = LocalDate.now().getYear();
+        val request = new VacationApprovalPlanRequest();
+        request.setHeadcount(headcount);
+        request.setMinimumStaffing(minimumStaffing);
+        request.setWindowStartDate(LocalDateTime.of(year, 12, 1, 0, 0));
+        request.setWindowEndDate(LocalDateTime.of(year, 12, 31, 0, 0));
+        request.setApply(apply);
+        return request;
+    }
+
+    private static Vacation sampleVacation(Long id, Long author, VacationStatus status, LocalDateTime startDate, LocalDateTime endDate) {
+        Vacation vacation = new Vacation();
+        ReflectionTestUtils.setField(vacation, "id", id);
+        vacation.setAuthor(author);
+        vacation.setRequestDate(LocalDateTime.of(2024, 11, 1, 0, 0).plusMinutes(id));
+        vacation.setStatus(status.name());
+        vacation.setStartDate(startDate);
+        vacation.setEndDate(endDate);
+        return vacation;
+    }
+
+    private static AuthorVacationCount sampleAuthorCount(Long author, long total) {
+        return new AuthorVacationCount() {
+            @Override
+            public Long getAuthor() {
+                return author;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
 }
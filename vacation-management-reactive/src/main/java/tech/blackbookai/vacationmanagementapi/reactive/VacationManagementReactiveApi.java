@@ -0,0 +1,12 @@
+package tech.blackbookai.vacationmanagementapi.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class VacationManagementReactiveApi {
+
+    public static void main(String[] args) {
+        SpringApplication.run(VacationManagementReactiveApi.class, args);
+    }
+}
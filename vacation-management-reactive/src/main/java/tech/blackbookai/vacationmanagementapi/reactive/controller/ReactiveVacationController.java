@@ -0,0 +1,37 @@
+package tech.blackbookai.vacationmanagementapi.reactive.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.util.CollectionUtils;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tech.blackbookai.vacationmanagementapi.reactive.entity.Vacation;
+import tech.blackbookai.vacationmanagementapi.reactive.model.VacationRemainingResponse;
+import tech.blackbookai.vacationmanagementapi.reactive.model.enums.VacationStatus;
+import tech.blackbookai.vacationmanagementapi.reactive.service.ReactiveVacationService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/vacations")
+public class ReactiveVacationController {
+
+    @Autowired
+    private ReactiveVacationService vacationService;
+
+    @GetMapping(value = "/{userId}/requests", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    private Flux<Vacation> getUserVacationRequests(@PathVariable Long userId,
+                                                  @RequestParam(required = false) List<String> status) {
+        if (!CollectionUtils.isEmpty(status)) {
+            return vacationService.getVacationForUserByStatus(userId, status.stream().map(VacationStatus::find).toList());
+        }
+        return vacationService.getVacationForUserByStatus(userId, null);
+    }
+
+    @GetMapping("/{userId}/remaining")
+    private Mono<VacationRemainingResponse> getUserRemainingVacationDays(@PathVariable Long userId) {
+        return vacationService.getRemainingVacationDaysForUser(userId)
+                .map(VacationRemainingResponse::new);
+    }
+}
@@ -0,0 +1,29 @@
+package tech.blackbookai.vacationmanagementapi.reactive.entity;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Table("tbl_vacation")
+public class Vacation {
+
+    @Id
+    private Long id;
+
+    private LocalDateTime requestDate;
+
+    private Long author;
+
+    private String status;
+
+    private Long resolvedBy;
+
+    private LocalDateTime startDate;
+
+    private LocalDateTime endDate;
+}
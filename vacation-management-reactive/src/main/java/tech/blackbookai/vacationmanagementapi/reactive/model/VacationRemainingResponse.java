@@ -0,0 +1,14 @@
+package tech.blackbookai.vacationmanagementapi.reactive.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class VacationRemainingResponse {
+    private int daysRemaining;
+}
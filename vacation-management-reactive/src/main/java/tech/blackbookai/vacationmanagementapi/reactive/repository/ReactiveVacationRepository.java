@@ -0,0 +1,17 @@
+package tech.blackbookai.vacationmanagementapi.reactive.repository;
+
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tech.blackbookai.vacationmanagementapi.reactive.entity.Vacation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ReactiveVacationRepository extends ReactiveCrudRepository<Vacation, Long> {
+    Flux<Vacation> findByAuthor(Long id);
+    Flux<Vacation> findByAuthorAndStatusIn(Long id, List<String> status);
+    Mono<Long> countByAuthorAndStatusAndStartDateIsGreaterThanEqual(Long id, String status, LocalDateTime startDate);
+}
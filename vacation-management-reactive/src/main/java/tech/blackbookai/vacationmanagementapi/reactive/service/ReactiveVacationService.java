@@ -0,0 +1,13 @@
+package tech.blackbookai.vacationmanagementapi.reactive.service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tech.blackbookai.vacationmanagementapi.reactive.entity.Vacation;
+import tech.blackbookai.vacationmanagementapi.reactive.model.enums.VacationStatus;
+
+import java.util.List;
+
+public interface ReactiveVacationService {
+    Flux<Vacation> getVacationForUserByStatus(Long userId, List<VacationStatus> statusFilters);
+    Mono<Integer> getRemainingVacationDaysForUser(Long userId);
+}
@@ -0,0 +1,59 @@
+package tech.blackbookai.vacationmanagementapi.reactive.service;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tech.blackbookai.vacationmanagementapi.reactive.entity.Vacation;
+import tech.blackbookai.vacationmanagementapi.reactive.model.enums.VacationStatus;
+import tech.blackbookai.vacationmanagementapi.reactive.repository.ReactiveVacationRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Service
+public class ReactiveVacationServiceImpl implements ReactiveVacationService {
+
+    @Value("${app.max-vacation-per-user}")
+    private int vacationLimitPerUser;
+
+    @Autowired
+    private ReactiveVacationRepository vacationRepository;
+
+    /**
+     * Streams the vacation requests of a given user. Results will be filtered by status, if provided.
+     *
+     * @param userId The ID of the author
+     * @param statusFilters Optional. The status to filter
+     * @return Vacation requests by author
+     */
+    @Override
+    public Flux<Vacation> getVacationForUserByStatus(Long userId, List<VacationStatus> statusFilters) {
+        if (!CollectionUtils.isEmpty(statusFilters)) {
+            val statusStringList = statusFilters.stream().map(VacationStatus::name).toList();
+            log.trace("Streaming all vacation requests for user {} filtered by status {}", userId, StringUtils.joinWith(",", statusStringList));
+            return vacationRepository.findByAuthorAndStatusIn(userId, statusStringList);
+        }
+        log.trace("Streaming all vacation requests for user {}", userId);
+        return vacationRepository.findByAuthor(userId);
+    }
+
+    /**
+     * Returns the remaining vacation days for a user for the current year
+     *
+     * @return Count of remaining vacation days
+     */
+    @Override
+    public Mono<Integer> getRemainingVacationDaysForUser(Long userId) {
+        return vacationRepository
+                .countByAuthorAndStatusAndStartDateIsGreaterThanEqual(userId, VacationStatus.APPROVED.name(), LocalDateTime.of(LocalDate.now().getYear(), 1, 1, 0, 0))
+                .map(totalVacations -> Math.max(vacationLimitPerUser - totalVacations.intValue(), 0));
+    }
+}
@@ -0,0 +1,92 @@
+package tech.blackbookai.vacationmanagementapi.reactive;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Fires the same mix of {@code /vacations/{userId}/requests} and {@code /vacations/{userId}/remaining} reads against
+ * the servlet API and the reactive API, and logs throughput and latency percentiles for each.
+ * Both applications must already be running against the same database, e.g.
+ * {@code mvn test -Dloadtest.servlet-base-url=http://localhost:9000/api -Dloadtest.reactive-base-url=http://localhost:9001/api}
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "loadtest.servlet-base-url", matches = ".+")
+@EnabledIfSystemProperty(named = "loadtest.reactive-base-url", matches = ".+")
+public class ReadLoadComparisonTest {
+
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 20_000);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 500);
+    private static final int USERS = Integer.getInteger("loadtest.users", 1_000);
+
+    @Test
+    public void givenSameReadMix_whenRunAgainstBothStacks_thenReportThroughputAndLatency() {
+        val servletResult = run("servlet", System.getProperty("loadtest.servlet-base-url"));
+        val reactiveResult = run("reactive", System.getProperty("loadtest.reactive-base-url"));
+
+        assertEquals(0, servletResult.errors(), "Servlet API returned errors");
+        assertEquals(0, reactiveResult.errors(), "Reactive API returned errors");
+    }
+
+    private Result run(String name, String baseUrl) {
+        val connectionProvider = ConnectionProvider.builder(name)
+                .maxConnections(CONCURRENCY)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        val client = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider).responseTimeout(Duration.ofSeconds(30))))
+                .build();
+
+        val latencies = new long[REQUESTS];
+        val completed = new AtomicInteger();
+        val errors = new AtomicInteger();
+        val start = System.nanoTime();
+        Flux.range(0, REQUESTS)
+                .flatMap(i -> Mono.defer(() -> {
+                    val requestStart = System.nanoTime();
+                    val path = i % 2 == 0 ? "/vacations/{userId}/requests" : "/vacations/{userId}/remaining";
+                    return client.get()
+                            .uri(path, 1 + i % USERS)
+                            .retrieve()
+                            .toBodilessEntity()
+                            .doOnSuccess(response -> latencies[completed.getAndIncrement()] = System.nanoTime() - requestStart)
+                            .doOnError(e -> errors.incrementAndGet())
+                            .onErrorResume(e -> Mono.empty());
+                }), CONCURRENCY)
+                .blockLast();
+        val elapsed = Duration.ofNanos(System.nanoTime() - start);
+        connectionProvider.dispose();
+
+        val sorted = Arrays.copyOf(latencies, completed.get());
+        Arrays.sort(sorted);
+        val result = new Result(completed.get(), errors.get(), elapsed, percentile(sorted, 50), percentile(sorted, 99));
+        log.info("{} API: {} requests, {} errors in {} ms ({} req/s), p50 {} ms, p99 {} ms", name, result.completed(), result.errors(),
+                elapsed.toMillis(), result.completed() * 1000L / Math.max(elapsed.toMillis(), 1), result.p50(), result.p99());
+        return result;
+    }
+
+    private static double percentile(long[] sortedLatencies, int percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        val index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private record Result(int completed, int errors, Duration elapsed, double p50, double p99) {
+    }
+}
@@ -0,0 +1,133 @@
+package tech.blackbookai.vacationmanagementapi.reactive.controller;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tech.blackbookai.vacationmanagementapi.reactive.config.BeanConfig;
+import tech.blackbookai.vacationmanagementapi.reactive.entity.Vacation;
+import tech.blackbookai.vacationmanagementapi.reactive.model.enums.VacationStatus;
+import tech.blackbookai.vacationmanagementapi.reactive.repository.ReactiveVacationRepository;
+import tech.blackbookai.vacationmanagementapi.reactive.service.ReactiveVacationServiceImpl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@WebFluxTest(controllers = ReactiveVacationController.class,
+        properties = {"spring.webflux.base-path=", "app.max-vacation-per-user=30"})
+@Import({ReactiveVacationServiceImpl.class, BeanConfig.class})
+public class ReactiveVacationControllerTest {
+
+    private static final long USER_ID = 1L;
+    private static final LocalDateTime START_OF_YEAR = LocalDateTime.of(LocalDate.now().getYear(), 1, 1, 0, 0);
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveVacationRepository vacationRepository;
+
+    @Test
+    public void givenStatusFilter_whenGetUserVacationRequests_thenQueryByStatus() {
+        Mockito.when(vacationRepository.findByAuthorAndStatusIn(USER_ID, List.of(VacationStatus.APPROVED.name())))
+                .thenReturn(Flux.just(sampleVacation(VacationStatus.APPROVED)));
+
+        webTestClient.get()
+                .uri("/vacations/{userId}/requests?status=APPROVED", USER_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].status").isEqualTo(VacationStatus.APPROVED.name());
+
+        Mockito.verify(vacationRepository, Mockito.never()).findByAuthor(Mockito.anyLong());
+    }
+
+    @Test
+    public void givenVacationRequests_whenGetUserVacationRequests_thenUseSnakeCaseLikeServletApi() {
+        Mockito.when(vacationRepository.findByAuthor(USER_ID))
+                .thenReturn(Flux.just(sampleVacation(VacationStatus.PENDING)));
+
+        webTestClient.get()
+                .uri("/vacations/{userId}/requests", USER_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(7)
+                .jsonPath("$[0].author").isEqualTo(1)
+                .jsonPath("$[0].status").isEqualTo(VacationStatus.PENDING.name())
+                .jsonPath("$[0].resolved_by").isEqualTo(2)
+                .jsonPath("$[0].request_date").isEqualTo("2024-08-09T12:57:13")
+                .jsonPath("$[0].start_date").isEqualTo("2024-08-24T00:00:00")
+                .jsonPath("$[0].end_date").isEqualTo("2024-09-04T00:00:00");
+    }
+
+    @Test
+    public void givenNdjsonAccept_whenGetUserVacationRequests_thenStreamNdjson() {
+        Mockito.when(vacationRepository.findByAuthor(USER_ID))
+                .thenReturn(Flux.just(sampleVacation(VacationStatus.PENDING), sampleVacation(VacationStatus.APPROVED)));
+
+        val body = webTestClient.get()
+                .uri("/vacations/{userId}/requests", USER_ID)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertEquals(2, body.strip().lines().count());
+    }
+
+    @Test
+    public void givenVacationCountIs10_whenGetUserRemainingVacationDays_thenReturn20() {
+        Mockito.when(vacationRepository.countByAuthorAndStatusAndStartDateIsGreaterThanEqual(USER_ID, VacationStatus.APPROVED.name(), START_OF_YEAR))
+                .thenReturn(Mono.just(10L));
+
+        webTestClient.get()
+                .uri("/vacations/{userId}/remaining", USER_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.days_remaining").isEqualTo(20);
+    }
+
+    @Test
+    public void givenVacationCountAboveLimit_whenGetUserRemainingVacationDays_thenReturn0() {
+        Mockito.when(vacationRepository.countByAuthorAndStatusAndStartDateIsGreaterThanEqual(USER_ID, VacationStatus.APPROVED.name(), START_OF_YEAR))
+                .thenReturn(Mono.just(31L));
+
+        webTestClient.get()
+                .uri("/vacations/{userId}/remaining", USER_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.days_remaining").isEqualTo(0);
+    }
+
+    private static Vacation sampleVacation(VacationStatus status) {
+        Vacation vacation = new Vacation();
+        vacation.setId(7L);
+        vacation.setAuthor(USER_ID);
+        vacation.setStatus(status.name());
+        vacation.setResolvedBy(2L);
+        vacation.setRequestDate(LocalDateTime.of(2024, 8, 9, 12, 57, 13));
+        vacation.setStartDate(LocalDateTime.of(2024, 8, 24, 0, 0));
+        vacation.setEndDate(LocalDateTime.of(2024, 9, 4, 0, 0));
+        return vacation;
+    }
+}